@@ -131,6 +131,8 @@ public abstract class BukkitModule extends JavaPlugin {
 		if (executorService != null)
 			executorService.shutdown();
 
+		configManager.disableHotReload();
+
 		for (Player player : Bukkit.getOnlinePlayers()) {
 			InventoryView view = player.getOpenInventory();
 			Inventory inventory = view.getTopInventory();
@@ -198,6 +200,11 @@ public abstract class BukkitModule extends JavaPlugin {
 		return configManager.getDocument(filename);
 	}
 
+	@Nonnull
+	public SimpleConfigManager getConfigManager() {
+		return configManager;
+	}
+
 	@Nonnull
 	public Version getVersion() {
 		return version != null ? version : (version = Version.parse(getDescription().getVersion()));
@@ -2,12 +2,17 @@ package net.anweisen.utilities.bukkit.core;
 
 import net.anweisen.utilities.common.config.Document;
 import net.anweisen.utilities.common.config.FileDocument;
+import net.anweisen.utilities.common.config.FileDocumentWatcher;
 import net.anweisen.utilities.common.config.document.GsonDocument;
+import net.anweisen.utilities.common.config.document.PropertiesDocument;
 import net.anweisen.utilities.common.config.document.YamlDocument;
+import net.anweisen.utilities.common.logging.ILogger;
 import net.anweisen.utilities.common.misc.FileUtils;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.File;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -17,8 +22,11 @@ import java.util.Map;
  */
 public class SimpleConfigManager {
 
+	protected static final ILogger LOGGER = ILogger.forThisClass();
+
 	protected final Map<String, FileDocument> configs = new HashMap<>();
 	protected final BukkitModule module;
+	protected FileDocumentWatcher watcher;
 
 	public SimpleConfigManager(@Nonnull BukkitModule module) {
 		this.module = module;
@@ -32,16 +40,68 @@ public class SimpleConfigManager {
 
 	public synchronized FileDocument getDocument(@Nonnull File file) {
 		String extension = FileUtils.getFileExtension(file);
-		return configs.computeIfAbsent(file.getName(), key -> FileDocument.readFile(resolveType(extension), file));
+		return configs.computeIfAbsent(file.getAbsolutePath(), key -> watch(FileDocument.readFile(resolveType(extension), file)));
+	}
+
+	/**
+	 * Removes the document of the file from the cache, the next call of {@link #getDocument(File)} will read it again.
+	 */
+	public synchronized void unloadDocument(@Nonnull File file) {
+		FileDocument document = configs.remove(file.getAbsolutePath());
+		if (document != null && watcher != null)
+			watcher.unwatch(document);
+	}
+
+	/**
+	 * Reloads the documents of this manager when their files are changed, see {@link FileDocumentWatcher}.
+	 * Listeners of the returned watcher are called asynchronously.
+	 */
+	@Nonnull
+	public synchronized FileDocumentWatcher enableHotReload() throws IOException {
+		if (watcher != null) return watcher;
+
+		watcher = new FileDocumentWatcher();
+		for (FileDocument document : configs.values())
+			watch(document);
+		return watcher;
+	}
+
+	public synchronized void disableHotReload() {
+		if (watcher == null) return;
+
+		try {
+			watcher.close();
+		} catch (IOException ex) {
+			LOGGER.error("Could not close config watcher", ex);
+		}
+		watcher = null;
+	}
+
+	@Nullable
+	public FileDocumentWatcher getWatcher() {
+		return watcher;
+	}
+
+	@Nonnull
+	protected FileDocument watch(@Nonnull FileDocument document) {
+		if (watcher == null) return document;
+
+		try {
+			return watcher.watch(document);
+		} catch (IOException ex) {
+			LOGGER.error("Could not watch config file \"{}\"", document.getFile(), ex);
+			return document;
+		}
 	}
 
 	@Nonnull
 	public static Class<? extends Document> resolveType(@Nonnull String extension) {
 		switch (extension.toLowerCase()) {
-			case "json":    return GsonDocument.class;
+			case "json":        return GsonDocument.class;
 			case "yml":
-			case "yaml":    return YamlDocument.class;
-			default:        throw new IllegalArgumentException("Unknown document file extension '" + extension + "'");
+			case "yaml":        return YamlDocument.class;
+			case "properties":  return PropertiesDocument.class;
+			default:            throw new IllegalArgumentException("Unknown document file extension '" + extension + "'");
 		}
 	}
 
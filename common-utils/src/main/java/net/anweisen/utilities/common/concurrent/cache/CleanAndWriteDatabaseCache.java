@@ -21,6 +21,8 @@ import java.util.function.Predicate;
 /**
  * @author anweisen | https://github.com/anweisen
  * @since 1.2.4
+ *
+ * @deprecated Use {@link GuavaDatabaseCache} instead, which does not scan the whole cache to remove expired entries
  */
 @Deprecated
 @ReplaceWith("com.google.common.cache.LoadingCache")
@@ -18,6 +18,8 @@ import java.util.concurrent.TimeUnit;
 /**
  * @author anweisen | https://github.com/anweisen
  * @since 1.2.4
+ *
+ * @deprecated Use {@link GuavaWriteableCache} instead, which does not scan the whole cache to remove expired entries
  */
 @Deprecated
 @ReplaceWith("com.google.common.cache.Cache")
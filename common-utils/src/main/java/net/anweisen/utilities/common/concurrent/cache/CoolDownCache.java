@@ -1,48 +1,85 @@
 package net.anweisen.utilities.common.concurrent.cache;
 
-import net.anweisen.utilities.common.collection.RunnableTimerTask;
+import net.anweisen.utilities.common.collection.NamedThreadFactory;
 import net.anweisen.utilities.common.logging.ILogger;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
-import java.util.ArrayList;
-import java.util.Collection;
+import java.lang.ref.WeakReference;
 import java.util.Map;
-import java.util.Timer;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Map.Entry;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.ToLongFunction;
 
 /**
+ * Remembers until when keys are on cool down.
+ *
+ * The deadline of a key is stored as {@link System#nanoTime()} in a mutable holder, so renewing a cool down does not allocate.
+ * Expired keys are ignored when they are read and removed by a cleanup task, which runs on a scheduler shared by all cool down caches.
+ * The cleanup task only keeps a weak reference to the cache, so unused caches can be garbage collected.
+ *
  * @author anweisen | https://github.com/anweisen
  * @since 1.2.4
  */
 public class CoolDownCache<K> {
 
-	protected final Map<K, Long> cache = new ConcurrentHashMap<>();
+	protected static final ThreadFactory THREAD_FACTORY = new NamedThreadFactory(threadId -> String.format("CoolDownCache-%s", threadId));
+	protected static final ScheduledExecutorService CLEANER = Executors.newSingleThreadScheduledExecutor(task -> {
+		Thread thread = THREAD_FACTORY.newThread(task);
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	protected final Map<K, AtomicLong> cache = new ConcurrentHashMap<>();
 	protected final ILogger logger;
 	protected final ToLongFunction<? super K> cooldownTime;
 	protected final long cleanInterval;
 
+	/**
+	 * @param cleanInterval the interval in milliseconds in which expired keys are removed
+	 * @param taskName no longer used, the cleanup runs on a shared scheduler
+	 * @param cooldownTime the cool down of a key in milliseconds
+	 */
 	public CoolDownCache(@Nonnull ILogger logger, @Nonnegative long cleanInterval, @Nonnull String taskName, @Nonnull ToLongFunction<? super K> cooldownTime) {
 		this.logger = logger;
 		this.cooldownTime = cooldownTime;
 		this.cleanInterval = cleanInterval;
 
-		new Timer(taskName).schedule(new RunnableTimerTask(this::cleanCache), cleanInterval, cleanInterval);
+		scheduleCleanup(this, cleanInterval);
+	}
+
+	protected static void scheduleCleanup(@Nonnull CoolDownCache<?> cache, long cleanInterval) {
+		WeakReference<CoolDownCache<?>> reference = new WeakReference<>(cache);
+		Future<?>[] future = new Future<?>[1];
+		future[0] = CLEANER.scheduleWithFixedDelay(() -> {
+			CoolDownCache<?> referent = reference.get();
+			if (referent == null) {
+				future[0].cancel(false);
+				return;
+			}
+
+			referent.cleanCache();
+		}, cleanInterval, cleanInterval, TimeUnit.MILLISECONDS);
 	}
 
 	public void cleanCache() {
 		logger.debug("Cleaning cooldown cache");
 
-		long now = System.currentTimeMillis();
-		Collection<K> remove = new ArrayList<>();
-		cache.forEach((key, time) -> {
-			if (time == null || !isOnCoolDown(now, time, key)) {
-				logger.trace("Removing {} from cooldown cache", key);
-				remove.add(key);
-			}
-		});
-		remove.forEach(cache::remove);
+		long now = System.nanoTime();
+		for (Entry<K, AtomicLong> entry : cache.entrySet()) {
+			AtomicLong deadline = entry.getValue();
+			if (isBefore(now, deadline.get())) continue;
+
+			// the cool down may have been renewed while it was removed
+			if (cache.remove(entry.getKey(), deadline) && isBefore(now, deadline.get()))
+				cache.putIfAbsent(entry.getKey(), deadline);
+		}
+	}
+
+	protected static boolean isBefore(long now, long deadline) {
+		// nano times may overflow, only their difference is meaningful
+		return now - deadline < 0;
 	}
 
 	public boolean isOnCoolDown(long now, long suspect, @Nonnull K key) {
@@ -51,25 +88,53 @@ public class CoolDownCache<K> {
 	}
 
 	public boolean isOnCoolDown(@Nonnull K key) {
-		Long time = cache.get(key);
-		if (time == null) return false;
-		return isOnCoolDown(System.currentTimeMillis(), time, key);
+		AtomicLong deadline = cache.get(key);
+		if (deadline == null) return false;
+
+		return isBefore(System.nanoTime(), deadline.get());
 	}
 
+	/**
+	 * Atomically checks whether the key is on cool down and puts it on cool down if it is not.
+	 * If multiple threads check the same key at once, only one of them will see the key off cool down.
+	 *
+	 * @return whether the key was on cool down
+	 */
 	public boolean checkCoolDown(@Nonnull K key) {
-		boolean cooldown = isOnCoolDown(key);
-		if (!cooldown) setOnCoolDown(key);
-		return cooldown;
+		long now = System.nanoTime();
+		long next = now + TimeUnit.MILLISECONDS.toNanos(getCoolDownTime(key));
+
+		AtomicLong deadline = cache.get(key);
+		if (deadline == null) {
+			deadline = cache.putIfAbsent(key, new AtomicLong(next));
+			if (deadline == null) return false;
+		}
+
+		long value = deadline.get();
+		if (isBefore(now, value)) return true;
+		return !deadline.compareAndSet(value, next);
 	}
 
 	public void setOnCoolDown(@Nonnull K key) {
-		cache.put(key, System.currentTimeMillis());
+		long next = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(getCoolDownTime(key));
+		AtomicLong deadline = cache.get(key);
+		if (deadline == null) {
+			deadline = cache.putIfAbsent(key, new AtomicLong(next));
+			if (deadline == null) return;
+		}
+
+		deadline.set(next);
 	}
 
+	/**
+	 * @return the time in milliseconds which passed since the key was put on cool down, or {@code 0} if it was never put on cool down
+	 */
 	public long getCoolDown(@Nonnull K key) {
-		Long time = cache.get(key);
-		if (time == null) return 0;
-		return System.currentTimeMillis() - time;
+		AtomicLong deadline = cache.get(key);
+		if (deadline == null) return 0;
+
+		long remaining = TimeUnit.NANOSECONDS.toMillis(deadline.get() - System.nanoTime());
+		return getCoolDownTime(key) - remaining;
 	}
 
 	public float getCoolDownSeconds(@Nonnull K key) {
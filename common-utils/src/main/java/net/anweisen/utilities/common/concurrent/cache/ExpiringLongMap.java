@@ -0,0 +1,224 @@
+package net.anweisen.utilities.common.concurrent.cache;
+
+import javax.annotation.Nonnegative;
+
+/**
+ * Maps primitive {@code long} keys (like snowflake ids) to deadlines in {@link System#nanoTime()}, without boxing or allocating per entry.
+ *
+ * The map is split into segments which are locked independently and only for a few array accesses, so threads rarely contend.
+ * Expired entries are not removed by a cleanup task, they are overwritten by new keys or dropped when a segment grows,
+ * so the map only holds about as many entries as there are keys on cool down at once.
+ *
+ * The key {@code 0} marks free slots and cannot be used.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.6
+ */
+public class ExpiringLongMap {
+
+	protected static final long FREE = 0;
+	protected static final int INITIAL_CAPACITY = 16;
+
+	protected static final class Segment {
+
+		private long[] keys = new long[INITIAL_CAPACITY];
+		private long[] deadlines = new long[INITIAL_CAPACITY];
+		private int used;
+
+		private int indexOf(long key, int hash) {
+			int mask = keys.length - 1;
+			for (int i = hash & mask; ; i = (i + 1) & mask) {
+				long current = keys[i];
+				if (current == key) return i;
+				if (current == FREE) return -1;
+			}
+		}
+
+		/**
+		 * Inserts a key which is not contained, reusing the first expired slot of the probe sequence.
+		 * Expired slots are never freed, so probe sequences of other keys are not interrupted.
+		 */
+		private void insert(long key, int hash, long deadline, long now) {
+			int mask = keys.length - 1;
+			for (int i = hash & mask; ; i = (i + 1) & mask) {
+				long current = keys[i];
+				if (current != FREE && isAfter(deadlines[i], now)) continue;
+
+				keys[i] = key;
+				deadlines[i] = deadline;
+				if (current == FREE && ++used > keys.length * 3 / 4)
+					rehash(now);
+				return;
+			}
+		}
+
+		private void rehash(long now) {
+			long[] oldKeys = keys, oldDeadlines = deadlines;
+
+			int live = 0;
+			for (int i = 0; i < oldKeys.length; i++) {
+				if (oldKeys[i] != FREE && isAfter(oldDeadlines[i], now)) live++;
+			}
+
+			int capacity = INITIAL_CAPACITY;
+			while (capacity < live * 4) capacity <<= 1;
+
+			keys = new long[capacity];
+			deadlines = new long[capacity];
+			used = 0;
+			int mask = capacity - 1;
+			for (int i = 0; i < oldKeys.length; i++) {
+				long key = oldKeys[i];
+				if (key == FREE || !isAfter(oldDeadlines[i], now)) continue;
+
+				int slot = hash(key) & mask;
+				while (keys[slot] != FREE) slot = (slot + 1) & mask;
+				keys[slot] = key;
+				deadlines[slot] = oldDeadlines[i];
+				used++;
+			}
+		}
+
+	}
+
+	protected final Segment[] segments;
+	protected final int segmentShift;
+
+	public ExpiringLongMap() {
+		this(16);
+	}
+
+	/**
+	 * @param concurrency the amount of threads expected to access the map at once, rounded up to a power of two
+	 */
+	public ExpiringLongMap(@Nonnegative int concurrency) {
+		if (concurrency < 1) throw new IllegalArgumentException("Concurrency must be at least 1");
+
+		int size = 1, bits = 0;
+		while (size < concurrency) {
+			size <<= 1;
+			bits++;
+		}
+
+		segments = new Segment[size];
+		segmentShift = 32 - bits;
+		for (int i = 0; i < size; i++)
+			segments[i] = new Segment();
+	}
+
+	protected static int hash(long key) {
+		long hash = key * 0x9E3779B97F4A7C15L;
+		return (int) (hash ^ (hash >>> 32));
+	}
+
+	/**
+	 * Nano times may overflow, only their difference is meaningful.
+	 */
+	protected static boolean isAfter(long deadline, long now) {
+		return deadline - now > 0;
+	}
+
+	protected Segment segmentFor(int hash) {
+		// the upper bits choose the segment, the lower bits the slot
+		return segmentShift == 32 ? segments[0] : segments[hash >>> segmentShift];
+	}
+
+	protected static void checkKey(long key) {
+		if (key == FREE) throw new IllegalArgumentException("Key cannot be " + FREE);
+	}
+
+	/**
+	 * Atomically checks whether the deadline of the key passed and sets a new deadline if it did.
+	 *
+	 * @param now the current {@link System#nanoTime()}
+	 * @param duration the nanoseconds until the new deadline
+	 * @return the remaining nanoseconds if the deadline did not pass yet, or {@code 0} if the new deadline was set
+	 */
+	public long checkAndRenew(long key, long now, @Nonnegative long duration) {
+		checkKey(key);
+		int hash = hash(key);
+		Segment segment = segmentFor(hash);
+		synchronized (segment) {
+			int index = segment.indexOf(key, hash);
+			if (index == -1) {
+				segment.insert(key, hash, now + duration, now);
+				return 0;
+			}
+
+			long remaining = segment.deadlines[index] - now;
+			if (remaining > 0) return remaining;
+
+			segment.deadlines[index] = now + duration;
+			return 0;
+		}
+	}
+
+	/**
+	 * @param now the current {@link System#nanoTime()}
+	 * @return the remaining nanoseconds until the deadline of the key, or {@code 0} if it passed or there is none
+	 */
+	public long getRemaining(long key, long now) {
+		checkKey(key);
+		int hash = hash(key);
+		Segment segment = segmentFor(hash);
+		synchronized (segment) {
+			int index = segment.indexOf(key, hash);
+			if (index == -1) return 0;
+			return Math.max(segment.deadlines[index] - now, 0);
+		}
+	}
+
+	/**
+	 * @param now the current {@link System#nanoTime()}
+	 * @param deadline the {@link System#nanoTime()} until which the key is kept
+	 */
+	public void put(long key, long now, long deadline) {
+		checkKey(key);
+		int hash = hash(key);
+		Segment segment = segmentFor(hash);
+		synchronized (segment) {
+			int index = segment.indexOf(key, hash);
+			if (index == -1) {
+				segment.insert(key, hash, deadline, now);
+			} else {
+				segment.deadlines[index] = deadline;
+			}
+		}
+	}
+
+	/**
+	 * Lets the deadline of the key pass immediately.
+	 */
+	public void remove(long key) {
+		checkKey(key);
+		int hash = hash(key);
+		Segment segment = segmentFor(hash);
+		synchronized (segment) {
+			int index = segment.indexOf(key, hash);
+			if (index != -1)
+				segment.deadlines[index] = System.nanoTime();
+		}
+	}
+
+	/**
+	 * @return the amount of keys whose deadline did not pass yet
+	 */
+	public int size() {
+		long now = System.nanoTime();
+		int size = 0;
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				for (int i = 0; i < segment.keys.length; i++) {
+					if (segment.keys[i] != FREE && isAfter(segment.deadlines[i], now)) size++;
+				}
+			}
+		}
+		return size;
+	}
+
+	@Override
+	public String toString() {
+		return "ExpiringLongMap[size=" + size() + ", segments=" + segments.length + "]";
+	}
+
+}
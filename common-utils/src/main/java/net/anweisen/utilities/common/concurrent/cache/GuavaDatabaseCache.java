@@ -0,0 +1,245 @@
+package net.anweisen.utilities.common.concurrent.cache;
+
+import com.google.common.cache.*;
+import com.google.common.collect.Maps;
+import net.anweisen.utilities.common.logging.ILogger;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A {@link DatabaseCache} backed by a guava {@link LoadingCache}, replacing the {@link CleanAndWriteDatabaseCache}.
+ *
+ * Missing values are loaded by the query, concurrent requests for the same key share a single load.
+ * If the query returns {@code null}, the absence is cached and the fallback value is returned.
+ * If the query fails, the fallback value is returned without being cached.
+ * Expiration is handled in constant time as part of the regular reads and writes, see {@link GuavaWriteableCache}.
+ *
+ * If a writer is given, only values which were {@link #markDirty(Object) marked as dirty} or {@link #put(Object, Object) put} are written,
+ * if they pass the check. A dirty value is written once
+ * <ul>
+ *   <li>when its entry gets evicted or invalidated, including {@link #clear()}</li>
+ *   <li>in the given interval, so values of a cache which is not accessed are written as well</li>
+ *   <li>when the cache is {@link #close() closed} or the application shuts down</li>
+ * </ul>
+ * The writes of removed entries and the scheduled writes are executed on the given executor, so they do not block the shared cache threads.
+ * The scheduled task and the shutdown hook only keep a weak reference to the cache and are removed once it was garbage collected,
+ * call {@link #close()} to stop them earlier.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.6
+ */
+@SuppressWarnings("deprecation")
+public class GuavaDatabaseCache<K, V> implements DatabaseCache<K, V>, AutoCloseable {
+
+	protected final LoadingCache<K, Optional<V>> cache;
+	protected final Function<? super K, ? extends V> fallback;
+	protected final Predicate<? super V> check;
+	protected final BiConsumer<? super K, ? super V> writer;
+	protected final ILogger logger;
+	protected final Set<K> dirty = ConcurrentHashMap.newKeySet();
+	protected final Executor writeExecutor;
+	protected final ScheduledFuture<?> writeTask;
+	protected final Thread shutdownHook;
+
+	public GuavaDatabaseCache(@Nullable ILogger logger, @Nonnull CacheBuilder<Object, Object> builder,
+	                          @Nonnull Function<? super K, ? extends V> fallback, @Nonnull Function<? super K, ? extends V> query) {
+		this.logger = logger;
+		this.fallback = fallback;
+		this.check = value -> false;
+		this.writer = (key, value) -> {};
+		this.cache = builder.build(createLoader(query));
+		this.writeExecutor = null;
+		this.writeTask = null;
+		this.shutdownHook = null;
+	}
+
+	/**
+	 * @param builder the configured builder, a removal listener must not be set as it is used for the writer
+	 * @param writeInterval the interval in milliseconds in which all cached values are written
+	 */
+	public GuavaDatabaseCache(@Nullable ILogger logger, @Nonnull CacheBuilder<Object, Object> builder, @Nonnegative long writeInterval, @Nonnull Executor writeExecutor,
+	                          @Nonnull Predicate<? super V> check, @Nonnull Function<? super K, ? extends V> fallback,
+	                          @Nonnull Function<? super K, ? extends V> query, @Nonnull BiConsumer<? super K, ? super V> writer) {
+		this.logger = logger;
+		this.fallback = fallback;
+		this.check = check;
+		this.writer = writer;
+		this.writeExecutor = writeExecutor;
+		this.cache = builder
+				.removalListener(RemovalListeners.asynchronous(this::onRemoval, writeExecutor))
+				.build(createLoader(query));
+
+		WeakReference<GuavaDatabaseCache<?, ?>> reference = new WeakReference<>(this);
+		this.shutdownHook = new Thread(() -> {
+			GuavaDatabaseCache<?, ?> referent = reference.get();
+			if (referent != null) referent.writeCache();
+		});
+		Runtime.getRuntime().addShutdownHook(shutdownHook);
+		this.writeTask = scheduleWrite(reference, shutdownHook, writeInterval);
+	}
+
+	@Nonnull
+	protected CacheLoader<K, Optional<V>> createLoader(@Nonnull Function<? super K, ? extends V> query) {
+		return CacheLoader.from(key -> Optional.ofNullable(query.apply(key)));
+	}
+
+	@Nonnull
+	protected static ScheduledFuture<?> scheduleWrite(@Nonnull WeakReference<GuavaDatabaseCache<?, ?>> reference, @Nonnull Thread shutdownHook, long writeInterval) {
+		ScheduledFuture<?>[] future = new ScheduledFuture<?>[1];
+		future[0] = EXECUTOR.scheduleAtFixedRate(() -> {
+			GuavaDatabaseCache<?, ?> referent = reference.get();
+			if (referent == null) {
+				future[0].cancel(false);
+				removeShutdownHook(shutdownHook);
+				return;
+			}
+
+			referent.writeCacheAsync();
+		}, writeInterval, writeInterval, TimeUnit.MILLISECONDS);
+		return future[0];
+	}
+
+	/**
+	 * @return whether the hook was removed, {@code false} if the application is already shutting down
+	 */
+	protected static boolean removeShutdownHook(@Nonnull Thread shutdownHook) {
+		try {
+			Runtime.getRuntime().removeShutdownHook(shutdownHook);
+			return true;
+		} catch (IllegalStateException ex) {
+			return false;
+		}
+	}
+
+	protected void onRemoval(@Nonnull RemovalNotification<K, Optional<V>> notification) {
+		if (!notification.wasEvicted() && notification.getCause() != RemovalCause.EXPLICIT) return;
+		if (notification.getKey() == null || !dirty.remove(notification.getKey())) return;
+		if (notification.getValue() == null || !notification.getValue().isPresent()) return;
+		write(notification.getKey(), notification.getValue().get());
+	}
+
+	protected void write(@Nonnull K key, @Nonnull V value) {
+		try {
+			if (!check.test(value)) return;
+			if (logger != null) logger.trace("Writing {}", value);
+			writer.accept(key, value);
+		} catch (Exception ex) {
+			if (logger != null) logger.error("Unable to write cache for {}", key, ex);
+		}
+	}
+
+	/**
+	 * Marks the cached value of the key as changed, so it is written with the next write.
+	 * Keys which are not cached are ignored, their values were not loaded through this cache.
+	 */
+	public void markDirty(@Nonnull K key) {
+		if (writeTask != null && cache.asMap().containsKey(key))
+			dirty.add(key);
+	}
+
+	/**
+	 * Caches the value and marks it as dirty.
+	 */
+	public void put(@Nonnull K key, @Nonnull V value) {
+		cache.put(key, Optional.of(value));
+		if (writeTask != null) dirty.add(key);
+	}
+
+	/**
+	 * Writes all dirty values which pass the check on the calling thread, without removing them.
+	 */
+	public void writeCache() {
+		if (dirty.isEmpty()) return;
+		if (logger != null) logger.debug("Writing {} dirty values", dirty.size());
+
+		Map<K, Optional<V>> values = cache.asMap();
+		for (K key : dirty) {
+			Optional<V> value = values.get(key);
+			// removed entries are written by the removal listener
+			if (value == null || !dirty.remove(key)) continue;
+			value.ifPresent(present -> write(key, present));
+		}
+	}
+
+	protected void writeCacheAsync() {
+		if (dirty.isEmpty()) return;
+		try {
+			writeExecutor.execute(this::writeCache);
+		} catch (RejectedExecutionException ex) {
+			if (logger != null) logger.error("Could not schedule writing of the cache", ex);
+		}
+	}
+
+	/**
+	 * @return the cached value, or the fallback value if the query returned {@code null} or failed
+	 */
+	@Nonnull
+	@Override
+	public V getData(@Nonnull K key) {
+		try {
+			Optional<V> value = cache.getUnchecked(key);
+			return value.isPresent() ? value.get() : fallback.apply(key);
+		} catch (RuntimeException ex) {
+			if (logger != null) logger.error("Could not get data for {}", key, ex);
+			return fallback.apply(key);
+		}
+	}
+
+	@Override
+	public boolean contains(@Nonnull K key) {
+		return cache.asMap().containsKey(key);
+	}
+
+	@Override
+	public int size() {
+		return (int) Math.min(cache.size(), Integer.MAX_VALUE);
+	}
+
+	@Override
+	public void clear() {
+		cache.invalidateAll();
+	}
+
+	/**
+	 * @return an unmodifiable live view of the cached entries, without the keys for which the query returned {@code null}
+	 */
+	@Nonnull
+	@Override
+	public Map<K, V> values() {
+		return Collections.unmodifiableMap(Maps.transformValues(Maps.filterValues(cache.asMap(), Optional::isPresent), Optional::get));
+	}
+
+	public void cleanUp() {
+		cache.cleanUp();
+	}
+
+	/**
+	 * Stops the scheduled writes and writes all dirty values.
+	 */
+	@Override
+	public void close() {
+		if (writeTask == null) return;
+
+		writeTask.cancel(false);
+		// the application is already shutting down if the hook cannot be removed, the hook writes the cache
+		if (removeShutdownHook(shutdownHook))
+			writeCache();
+	}
+
+	@Nonnull
+	public LoadingCache<K, Optional<V>> getCache() {
+		return cache;
+	}
+
+}
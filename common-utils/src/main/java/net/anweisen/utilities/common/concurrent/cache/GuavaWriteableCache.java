@@ -0,0 +1,94 @@
+package net.anweisen.utilities.common.concurrent.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link WriteableCache} backed by a guava {@link Cache}, replacing the {@link CleanWriteableCache}.
+ *
+ * Entries are kept in access ordered queues, so expired entries are removed in constant time
+ * as part of the regular reads and writes instead of scanning the whole cache in a background task.
+ * Use {@link #cleanUp()} to remove expired entries of a cache which is rarely accessed.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.6
+ */
+@SuppressWarnings("deprecation")
+public class GuavaWriteableCache<K, V> implements WriteableCache<K, V> {
+
+	protected final Cache<K, V> cache;
+
+	public GuavaWriteableCache(@Nonnull Cache<K, V> cache) {
+		this.cache = cache;
+	}
+
+	public GuavaWriteableCache(@Nonnull CacheBuilder<? super K, ? super V> builder) {
+		this(builder.build());
+	}
+
+	/**
+	 * @param unusedTimeBeforeClean the time in milliseconds after which an entry which was not accessed is removed
+	 */
+	public GuavaWriteableCache(@Nonnegative long unusedTimeBeforeClean) {
+		this(CacheBuilder.newBuilder().expireAfterAccess(unusedTimeBeforeClean, TimeUnit.MILLISECONDS));
+	}
+
+	@Nullable
+	@Override
+	public V getData(@Nonnull K key) {
+		return cache.getIfPresent(key);
+	}
+
+	/**
+	 * @param value the value to cache, {@code null} removes the key
+	 */
+	@Override
+	public void setData(@Nonnull K key, @Nullable V value) {
+		if (value == null) {
+			cache.invalidate(key);
+		} else {
+			cache.put(key, value);
+		}
+	}
+
+	@Override
+	public boolean contains(@Nonnull K key) {
+		return cache.asMap().containsKey(key);
+	}
+
+	@Override
+	public int size() {
+		return (int) Math.min(cache.size(), Integer.MAX_VALUE);
+	}
+
+	@Override
+	public void clear() {
+		cache.invalidateAll();
+	}
+
+	/**
+	 * @return an unmodifiable live view of the cached entries
+	 */
+	@Nonnull
+	@Override
+	public Map<K, V> values() {
+		return Collections.unmodifiableMap(cache.asMap());
+	}
+
+	public void cleanUp() {
+		cache.cleanUp();
+	}
+
+	@Nonnull
+	public Cache<K, V> getCache() {
+		return cache;
+	}
+
+}
@@ -2,6 +2,7 @@ package net.anweisen.utilities.common.config;
 
 import com.google.gson.JsonArray;
 import net.anweisen.utilities.common.collection.WrappedException;
+import net.anweisen.utilities.common.config.document.BinaryDocument;
 import net.anweisen.utilities.common.config.document.EmptyDocument;
 import net.anweisen.utilities.common.config.document.GsonDocument;
 import net.anweisen.utilities.common.config.document.PropertiesDocument;
@@ -166,20 +167,18 @@ public interface Document extends Config, Json {
 
 	void write(@Nonnull Writer writer) throws IOException;
 
+	/**
+	 * Writes this document to the file atomically, see {@link FileUtils#writeAtomically}
+	 */
 	default void saveToFile(@Nonnull File file) throws IOException {
-		FileUtils.createFilesIfNecessary(file);
-		Writer writer = FileUtils.newBufferedWriter(file);
-		write(writer);
-		writer.flush();
-		writer.close();
+		saveToFile(file.toPath());
 	}
 
+	/**
+	 * Writes this document to the file atomically, see {@link FileUtils#writeAtomically}
+	 */
 	default void saveToFile(@Nonnull Path file) throws IOException {
-		FileUtils.createFile(file);
-		Writer writer = FileUtils.newBufferedWriter(file);
-		write(writer);
-		writer.flush();
-		writer.close();
+		FileUtils.writeAtomically(file, this::write);
 	}
 
 	@Nonnull
@@ -320,6 +319,21 @@ public interface Document extends Config, Json {
 		return readPropertiesFile(file.toFile());
 	}
 
+	/**
+	 * @see BinaryDocument
+	 */
+	@Nonnull
+	@CheckReturnValue
+	static Document readBinaryFile(@Nonnull File file) {
+		return readFile(BinaryDocument.class, file);
+	}
+
+	@Nonnull
+	@CheckReturnValue
+	static Document readBinaryFile(@Nonnull Path file) {
+		return readBinaryFile(file.toFile());
+	}
+
 	@Nonnull
 	@CheckReturnValue
 	static Document create() {
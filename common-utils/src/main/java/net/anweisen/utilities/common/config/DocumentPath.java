@@ -0,0 +1,130 @@
+package net.anweisen.utilities.common.config;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A dotted path (like {@code database.mysql.host}) which is split into its segments once,
+ * so documents can resolve it without splitting or allocating substrings on every access.
+ *
+ * Paths are meant to be kept in constants and passed to the {@link Propertyable} getters:
+ * <pre>{@code
+ * private static final DocumentPath HOST = DocumentPath.of("database.mysql.host");
+ * String host = config.getString(HOST);
+ * }</pre>
+ *
+ * Besides the segments every path knows the remaining path starting at each segment,
+ * because keys may contain dots themselves and documents try the remaining path as a single key before descending.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.6
+ */
+public final class DocumentPath {
+
+	private static final int MAX_CACHED = 4096;
+	private static final Map<String, DocumentPath> cache = new ConcurrentHashMap<>();
+
+	private final String path;
+	private final String[] segments;
+	private final String[] remaining;
+
+	private DocumentPath(@Nonnull String path, @Nonnull String[] segments, @Nonnull String[] remaining) {
+		this.path = path;
+		this.segments = segments;
+		this.remaining = remaining;
+	}
+
+	/**
+	 * @return the compiled path, shared with all other callers of the same path
+	 */
+	@Nonnull
+	public static DocumentPath of(@Nonnull String path) {
+		DocumentPath cached = cache.get(path);
+		if (cached != null) return cached;
+
+		DocumentPath compiled = compile(path);
+		// paths may be built dynamically, only the first paths are remembered so the cache cannot grow forever
+		if (cache.size() < MAX_CACHED)
+			cache.putIfAbsent(path, compiled);
+		return compiled;
+	}
+
+	/**
+	 * @return a new compiled path, which is not cached
+	 */
+	@Nonnull
+	public static DocumentPath compile(@Nonnull String path) {
+		List<String> segments = new ArrayList<>(4);
+		int start = 0, index;
+		while ((index = path.indexOf('.', start)) != -1) {
+			segments.add(path.substring(start, index));
+			start = index + 1;
+		}
+		segments.add(path.substring(start));
+
+		String[] remaining = new String[segments.size()];
+		remaining[0] = path;
+		int offset = 0;
+		for (int i = 1; i < remaining.length; i++) {
+			offset += segments.get(i - 1).length() + 1;
+			remaining[i] = path.substring(offset);
+		}
+
+		return new DocumentPath(path, segments.toArray(new String[0]), remaining);
+	}
+
+	@Nonnull
+	public String getPath() {
+		return path;
+	}
+
+	@Nonnegative
+	public int getDepth() {
+		return segments.length;
+	}
+
+	@Nonnull
+	public String getSegment(int index) {
+		return segments[index];
+	}
+
+	/**
+	 * @return the path starting at the segment with the given index, {@link #getPath()} for {@code 0}
+	 */
+	@Nonnull
+	public String getRemaining(int index) {
+		return remaining[index];
+	}
+
+	@Nonnull
+	public String getLastSegment() {
+		return segments[segments.length - 1];
+	}
+
+	public boolean isNested() {
+		return segments.length > 1;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+		DocumentPath that = (DocumentPath) o;
+		return path.equals(that.path);
+	}
+
+	@Override
+	public int hashCode() {
+		return path.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return path;
+	}
+
+}
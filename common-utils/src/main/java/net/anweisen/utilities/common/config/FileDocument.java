@@ -1,6 +1,7 @@
 package net.anweisen.utilities.common.config;
 
 import net.anweisen.utilities.common.concurrent.task.Task;
+import net.anweisen.utilities.common.config.document.BinaryDocument;
 import net.anweisen.utilities.common.config.document.GsonDocument;
 import net.anweisen.utilities.common.config.document.PropertiesDocument;
 import net.anweisen.utilities.common.config.document.wrapper.FileDocumentWrapper;
@@ -12,6 +13,7 @@ import javax.annotation.Nullable;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Set;
 import java.util.function.Consumer;
 
 /**
@@ -42,9 +44,21 @@ public interface FileDocument extends Document {
 		}
 	}
 
+	/**
+	 * Saves this document on a shared pool. Saves of the same file are coalesced,
+	 * so calling this on every change writes the file at most once at a time, see {@link FileSaveQueue}.
+	 * Errors are printed to {@link #LOGGER} and fail the returned task.
+	 */
 	@Nonnull
 	default Task<Void> saveAsync() {
-		return Task.asyncRunExceptionally(this::save);
+		return FileSaveQueue.submit(getPath(), () -> {
+			try {
+				saveExceptionally();
+			} catch (IOException ex) {
+				LOGGER.error("Could not save config to file \"{}\"", getFile(), ex);
+				throw ex;
+			}
+		});
 	}
 
 	/**
@@ -58,6 +72,35 @@ public interface FileDocument extends Document {
 		else        save();
 	}
 
+	/**
+	 * Reads the file again and replaces the contents of this document at once.
+	 * Documents which were obtained from this document before keep the old contents.
+	 *
+	 * @return the paths of all values which were added, removed or changed
+	 * @throws UnsupportedOperationException if this document cannot be reloaded
+	 *
+	 * @see #isReloadable()
+	 * @see FileDocumentWatcher
+	 */
+	@Nonnull
+	default Set<String> reload() throws IOException {
+		throw new UnsupportedOperationException(getClass().getName() + ".reload()");
+	}
+
+	/**
+	 * @return whether this document implements {@link #reload()}
+	 */
+	default boolean isReloadable() {
+		return false;
+	}
+
+	/**
+	 * @return whether the file was changed since this document last read or wrote it, {@code true} if this is unknown
+	 */
+	default boolean hasExternalChanges() {
+		return true;
+	}
+
 	@Nonnull
 	File getFile();
 
@@ -173,4 +216,16 @@ public interface FileDocument extends Document {
 		return readFile(PropertiesDocument.class, file);
 	}
 
+	@Nonnull
+	@CheckReturnValue
+	static FileDocument readBinaryFile(@Nonnull File file) {
+		return readFile(BinaryDocument.class, file);
+	}
+
+	@Nonnull
+	@CheckReturnValue
+	static FileDocument readBinaryFile(@Nonnull Path file) {
+		return readFile(BinaryDocument.class, file);
+	}
+
 }
@@ -0,0 +1,183 @@
+package net.anweisen.utilities.common.config;
+
+import net.anweisen.utilities.common.collection.NamedThreadFactory;
+import net.anweisen.utilities.common.logging.ILogger;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.function.BiConsumer;
+
+/**
+ * Reloads {@link FileDocument file documents} when their files are changed, so configs can be edited without restarting.
+ *
+ * The directories of the documents are watched by a {@link WatchService}, so unchanged files are never read.
+ * Change events of a file are debounced, the document is only reloaded once the file was not changed for the debounce time.
+ * Reloading happens on a separate thread and only if {@link FileDocument#hasExternalChanges()}, so saves of the document itself are ignored.
+ * Listeners are called with the paths which changed, reloads without changes are not passed to the listeners.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.6
+ */
+public class FileDocumentWatcher implements AutoCloseable {
+
+	protected static final ILogger LOGGER = ILogger.forThisClass();
+	protected static final ThreadFactory THREAD_FACTORY = new NamedThreadFactory(threadId -> String.format("FileDocumentWatcher-%s", threadId));
+
+	protected final Map<Path, FileDocument> documents = new ConcurrentHashMap<>();
+	protected final Map<Path, WatchKey> directories = new ConcurrentHashMap<>();
+	protected final Map<Path, ScheduledFuture<?>> scheduled = new ConcurrentHashMap<>();
+	protected final Collection<BiConsumer<? super FileDocument, ? super Set<String>>> listeners = new CopyOnWriteArrayList<>();
+	protected final WatchService watchService;
+	protected final ScheduledExecutorService reloader;
+	protected final Thread thread;
+	protected final long debounce;
+
+	public FileDocumentWatcher() throws IOException {
+		this(500);
+	}
+
+	/**
+	 * @param debounce the time in milliseconds a file has to be unchanged before it is reloaded
+	 */
+	public FileDocumentWatcher(@Nonnegative long debounce) throws IOException {
+		this.debounce = debounce;
+		this.watchService = FileSystems.getDefault().newWatchService();
+		this.reloader = Executors.newSingleThreadScheduledExecutor(task -> {
+			Thread thread = THREAD_FACTORY.newThread(task);
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.thread = THREAD_FACTORY.newThread(this::watch);
+		this.thread.setDaemon(true);
+		this.thread.start();
+	}
+
+	/**
+	 * @throws IllegalArgumentException if the document is not {@link FileDocument#isReloadable() reloadable}
+	 */
+	@Nonnull
+	public <D extends FileDocument> D watch(@Nonnull D document) throws IOException {
+		if (!document.isReloadable())
+			throw new IllegalArgumentException(document.getClass().getName() + " cannot be reloaded");
+
+		Path file = normalize(document.getPath());
+		Path directory = file.getParent();
+		Files.createDirectories(directory);
+
+		synchronized (directories) {
+			if (!directories.containsKey(directory))
+				directories.put(directory, directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY));
+		}
+
+		documents.put(file, document);
+		return document;
+	}
+
+	public void unwatch(@Nonnull FileDocument document) {
+		Path file = normalize(document.getPath());
+		if (!documents.remove(file, document)) return;
+
+		ScheduledFuture<?> future = scheduled.remove(file);
+		if (future != null) future.cancel(false);
+
+		Path directory = file.getParent();
+		synchronized (directories) {
+			for (Path watched : documents.keySet()) {
+				if (watched.getParent().equals(directory)) return;
+			}
+
+			WatchKey key = directories.remove(directory);
+			if (key != null) key.cancel();
+		}
+	}
+
+	@Nonnull
+	public FileDocumentWatcher addListener(@Nonnull BiConsumer<? super FileDocument, ? super Set<String>> listener) {
+		listeners.add(listener);
+		return this;
+	}
+
+	public void removeListener(@Nonnull BiConsumer<? super FileDocument, ? super Set<String>> listener) {
+		listeners.remove(listener);
+	}
+
+	@Nonnull
+	protected static Path normalize(@Nonnull Path file) {
+		return file.toAbsolutePath().normalize();
+	}
+
+	protected void watch() {
+		while (true) {
+			WatchKey key;
+			try {
+				key = watchService.take();
+			} catch (InterruptedException | ClosedWatchServiceException ex) {
+				return;
+			}
+
+			Path directory = (Path) key.watchable();
+			for (WatchEvent<?> event : key.pollEvents()) {
+				if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+					// events were lost, every document of the directory may have changed
+					for (Path file : documents.keySet()) {
+						if (file.getParent().equals(directory)) schedule(file);
+					}
+					continue;
+				}
+
+				Path file = directory.resolve((Path) event.context());
+				if (documents.containsKey(file)) schedule(file);
+			}
+
+			key.reset();
+		}
+	}
+
+	protected void schedule(@Nonnull Path file) {
+		scheduled.compute(file, (key, previous) -> {
+			if (previous != null) previous.cancel(false);
+			return reloader.schedule(() -> reload(file), debounce, TimeUnit.MILLISECONDS);
+		});
+	}
+
+	protected void reload(@Nonnull Path file) {
+		FileDocument document = documents.get(file);
+		if (document == null || !document.hasExternalChanges()) return;
+
+		Set<String> changes;
+		try {
+			changes = document.reload();
+		} catch (Exception ex) {
+			LOGGER.error("Could not reload config from file \"{}\"", file, ex);
+			return;
+		}
+
+		if (changes.isEmpty()) return;
+		LOGGER.debug("Reloaded config from file \"{}\", changed {}", file, changes);
+
+		for (BiConsumer<? super FileDocument, ? super Set<String>> listener : listeners) {
+			try {
+				listener.accept(document, changes);
+			} catch (Throwable ex) {
+				LOGGER.error("Could not notify reload listener of file \"{}\"", file, ex);
+			}
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		reloader.shutdownNow();
+		watchService.close();
+		thread.interrupt();
+		documents.clear();
+		directories.clear();
+		scheduled.clear();
+	}
+
+}
@@ -0,0 +1,114 @@
+package net.anweisen.utilities.common.config;
+
+import net.anweisen.utilities.common.collection.NamedThreadFactory;
+import net.anweisen.utilities.common.concurrent.task.CompletableTask;
+import net.anweisen.utilities.common.concurrent.task.Task;
+import net.anweisen.utilities.common.function.ExceptionallyRunnable;
+
+import javax.annotation.Nonnull;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * Runs asynchronous saves of files on a small shared pool, coalescing saves of the same file.
+ *
+ * For every file at most one save is running and at most one is pending.
+ * A save requested while another one is running becomes the pending save, further requests replace it and share its task.
+ * Every save writes the current state when it runs, so the pending save also writes the changes of the replaced requests.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.6
+ */
+public final class FileSaveQueue {
+
+	private static final class Entry {
+
+		private final Path file;
+		private CompletableTask<Void> running, pending;
+		private ExceptionallyRunnable pendingSave;
+		private boolean retired;
+
+		private Entry(@Nonnull Path file) {
+			this.file = file;
+		}
+
+	}
+
+	private static final int THREADS = 2;
+	private static final ExecutorService executor;
+	private static final Map<Path, Entry> entries = new ConcurrentHashMap<>();
+
+	static {
+		// every file has at most one save queued or running, so the queue is bounded by the amount of files
+		ThreadPoolExecutor pool = new ThreadPoolExecutor(THREADS, THREADS, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new NamedThreadFactory("FileSaver"));
+		pool.allowCoreThreadTimeOut(true);
+		executor = pool;
+	}
+
+	private FileSaveQueue() {}
+
+	/**
+	 * @param file the file which is written by the save
+	 * @return a task completed when a save which started after this call finished
+	 */
+	@Nonnull
+	public static Task<Void> submit(@Nonnull Path file, @Nonnull ExceptionallyRunnable save) {
+		Path key = file.toAbsolutePath().normalize();
+		while (true) {
+			Entry entry = entries.computeIfAbsent(key, Entry::new);
+			synchronized (entry) {
+				// the entry was removed after its last save, a new one has to be created
+				if (entry.retired) continue;
+
+				if (entry.running == null) {
+					CompletableTask<Void> task = new CompletableTask<>();
+					entry.running = task;
+					executor.execute(() -> run(entry, save, task));
+					return task;
+				}
+
+				entry.pendingSave = save;
+				if (entry.pending == null) entry.pending = new CompletableTask<>();
+				return entry.pending;
+			}
+		}
+	}
+
+	private static void run(@Nonnull Entry entry, @Nonnull ExceptionallyRunnable save, @Nonnull CompletableTask<Void> task) {
+		Throwable failure = null;
+		try {
+			save.runExceptionally();
+		} catch (Throwable ex) {
+			failure = ex;
+		}
+
+		CompletableTask<Void> next;
+		ExceptionallyRunnable nextSave;
+		synchronized (entry) {
+			next = entry.pending;
+			nextSave = entry.pendingSave;
+			entry.running = next;
+			entry.pending = null;
+			entry.pendingSave = null;
+			if (next == null) {
+				entry.retired = true;
+				entries.remove(entry.file, entry);
+			}
+		}
+
+		if (next != null)
+			executor.execute(() -> run(entry, nextSave, next));
+
+		if (failure != null) task.fail(failure);
+		else task.complete(null);
+	}
+
+	/**
+	 * @return the amount of files which are currently saved or waiting to be saved
+	 */
+	public static int getQueuedFiles() {
+		return entries.size();
+	}
+
+}
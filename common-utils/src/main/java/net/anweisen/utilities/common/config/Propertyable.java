@@ -199,4 +199,68 @@ public interface Propertyable {
 
 	void forEach(@Nonnull BiConsumer<? super String, ? super Object> action);
 
+	@Nullable
+	default Object getObject(@Nonnull DocumentPath path) {
+		return getObject(path.getPath());
+	}
+
+	@Nullable
+	default String getString(@Nonnull DocumentPath path) {
+		return getString(path.getPath());
+	}
+
+	@Nonnull
+	default String getString(@Nonnull DocumentPath path, @Nonnull String def) {
+		return getString(path.getPath(), def);
+	}
+
+	default long getLong(@Nonnull DocumentPath path) {
+		return getLong(path.getPath());
+	}
+
+	default long getLong(@Nonnull DocumentPath path, long def) {
+		return getLong(path.getPath(), def);
+	}
+
+	default int getInt(@Nonnull DocumentPath path) {
+		return getInt(path.getPath());
+	}
+
+	default int getInt(@Nonnull DocumentPath path, int def) {
+		return getInt(path.getPath(), def);
+	}
+
+	default float getFloat(@Nonnull DocumentPath path) {
+		return getFloat(path.getPath());
+	}
+
+	default float getFloat(@Nonnull DocumentPath path, float def) {
+		return getFloat(path.getPath(), def);
+	}
+
+	default double getDouble(@Nonnull DocumentPath path) {
+		return getDouble(path.getPath());
+	}
+
+	default double getDouble(@Nonnull DocumentPath path, double def) {
+		return getDouble(path.getPath(), def);
+	}
+
+	default boolean getBoolean(@Nonnull DocumentPath path) {
+		return getBoolean(path.getPath());
+	}
+
+	default boolean getBoolean(@Nonnull DocumentPath path, boolean def) {
+		return getBoolean(path.getPath(), def);
+	}
+
+	@Nonnull
+	default List<String> getStringList(@Nonnull DocumentPath path) {
+		return getStringList(path.getPath());
+	}
+
+	default boolean contains(@Nonnull DocumentPath path) {
+		return contains(path.getPath());
+	}
+
 }
@@ -0,0 +1,78 @@
+package net.anweisen.utilities.common.config.document;
+
+import com.google.gson.JsonObject;
+import net.anweisen.utilities.common.config.Document;
+import net.anweisen.utilities.common.config.document.binary.BinaryDocumentCodec;
+import net.anweisen.utilities.common.misc.FileUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+
+/**
+ * A {@link GsonDocument} which is saved and loaded in the binary format of {@link BinaryDocumentCodec} instead of json.
+ * Meant for caches and snapshots which are not edited by hand, where loading and saving time matters.
+ *
+ * {@link #write(java.io.Writer)}, {@link #toJson()} and all other methods still use json,
+ * only {@link #saveToFile(Path)}, {@link #writeBinary(WritableByteChannel)} and {@link #toBinary()} use the binary format.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.6
+ */
+public class BinaryDocument extends GsonDocument {
+
+	public BinaryDocument(@Nonnull File file) throws IOException {
+		this(file.toPath());
+	}
+
+	public BinaryDocument(@Nonnull Path file) throws IOException {
+		this(BinaryDocumentCodec.readFile(file));
+	}
+
+	public BinaryDocument(@Nonnull byte[] bytes) throws IOException {
+		this(ByteBuffer.wrap(bytes));
+	}
+
+	public BinaryDocument(@Nonnull ByteBuffer buffer) throws IOException {
+		this(BinaryDocumentCodec.decodeJson(buffer));
+	}
+
+	/**
+	 * Copies the values of the document, the values of {@link GsonDocument}s are shared instead
+	 */
+	public BinaryDocument(@Nonnull Document document) {
+		this(document instanceof GsonDocument ? ((GsonDocument) document).getJsonObject() : new GsonDocument(document.values()).getJsonObject());
+	}
+
+	public BinaryDocument(@Nullable JsonObject jsonObject) {
+		super(jsonObject);
+	}
+
+	public BinaryDocument(@Nullable JsonObject jsonObject, @Nonnull Document root, @Nullable Document parent) {
+		super(jsonObject, root, parent);
+	}
+
+	public BinaryDocument() {
+		super();
+	}
+
+	@Override
+	public void saveToFile(@Nonnull Path file) throws IOException {
+		ByteBuffer[] buffers = BinaryDocumentCodec.encode(jsonObject);
+		FileUtils.writeChannelAtomically(file, channel -> BinaryDocumentCodec.write(channel, buffers));
+	}
+
+	public void writeBinary(@Nonnull WritableByteChannel channel) throws IOException {
+		BinaryDocumentCodec.write(channel, BinaryDocumentCodec.encode(jsonObject));
+	}
+
+	@Nonnull
+	public byte[] toBinary() {
+		return BinaryDocumentCodec.toByteArray(BinaryDocumentCodec.encode(jsonObject));
+	}
+
+}
@@ -4,6 +4,7 @@ import com.google.gson.*;
 import com.google.gson.internal.bind.TypeAdapters;
 import net.anweisen.utilities.common.collection.pair.Pair;
 import net.anweisen.utilities.common.config.Document;
+import net.anweisen.utilities.common.config.DocumentPath;
 import net.anweisen.utilities.common.config.document.gson.*;
 import net.anweisen.utilities.common.misc.BukkitReflectionSerializationUtils;
 import net.anweisen.utilities.common.misc.FileUtils;
@@ -89,11 +90,11 @@ public class GsonDocument extends AbstractDocument {
 	}
 
 	public GsonDocument(@Nonnull Reader reader) throws IOException {
-		this(new BufferedReader(reader));
+		this(GsonUtils.readJsonObject(reader));
 	}
 
 	public GsonDocument(@Nonnull BufferedReader reader) throws IOException {
-		this(reader.ready() ? GSON.fromJson(reader, JsonObject.class) : new JsonObject());
+		this(GsonUtils.readJsonObject(reader));
 	}
 
 	public GsonDocument(@Nonnull String json) {
@@ -129,21 +130,21 @@ public class GsonDocument extends AbstractDocument {
 	@Nullable
 	@Override
 	public String getString(@Nonnull String path) {
-		JsonElement element = getElement(path).orElse(null);
+		JsonElement element = getElement(path);
 		return GsonUtils.convertJsonElementToString(element);
 	}
 
 	@Nullable
 	@Override
 	public Object getObject(@Nonnull String path) {
-		JsonElement element = getElement(path).orElse(null);
+		JsonElement element = getElement(path);
 		return GsonUtils.unpackJsonElement(element);
 	}
 
 	@Nullable
 	@Override
 	public <T> T getInstance(@Nonnull String path, @Nonnull Class<T> classOfType) {
-		JsonElement element = getElement(path).orElse(null);
+		JsonElement element = getElement(path);
 		return GSON.fromJson(element, classOfType);
 	}
 
@@ -162,7 +163,7 @@ public class GsonDocument extends AbstractDocument {
 	@Nonnull
 	@Override
 	public Document getDocument0(@Nonnull String path, @Nonnull Document root, @Nullable Document parent) {
-		JsonElement element = getElement(path).orElse(null);
+		JsonElement element = getElement(path);
 		if (element == null || !element.isJsonObject()) setElement(path, element = new JsonObject());
 		return new GsonDocument(element.getAsJsonObject(), root, parent);
 	}
@@ -170,8 +171,8 @@ public class GsonDocument extends AbstractDocument {
 	@Nonnull
 	@Override
 	public List<Document> getDocumentList(@Nonnull String path) {
-		JsonElement element = getElement(path).orElse(new JsonArray());
-		if (element.isJsonNull()) return new ArrayList<>();
+		JsonElement element = getElement(path);
+		if (element == null || element.isJsonNull()) return new ArrayList<>();
 		JsonArray array = element.getAsJsonArray();
 		List<Document> documents = new ArrayList<>(array.size());
 		for (JsonElement current : array) {
@@ -188,48 +189,56 @@ public class GsonDocument extends AbstractDocument {
 
 	@Override
 	public char getChar(@Nonnull String path, char def) {
-		return getPrimitive(path).map(JsonPrimitive::getAsCharacter).orElse(def);
+		JsonPrimitive primitive = getPrimitive(path);
+		return primitive == null ? def : primitive.getAsCharacter();
 	}
 
 	@Override
 	public long getLong(@Nonnull String path, long def) {
-		return getPrimitive(path).map(JsonPrimitive::getAsLong).orElse(def);
+		JsonPrimitive primitive = getPrimitive(path);
+		return primitive == null ? def : primitive.getAsLong();
 	}
 
 	@Override
 	public int getInt(@Nonnull String path, int def) {
-		return getPrimitive(path).map(JsonPrimitive::getAsInt).orElse(def);
+		JsonPrimitive primitive = getPrimitive(path);
+		return primitive == null ? def : primitive.getAsInt();
 	}
 
 	@Override
 	public short getShort(@Nonnull String path, short def) {
-		return getPrimitive(path).map(JsonPrimitive::getAsShort).orElse(def);
+		JsonPrimitive primitive = getPrimitive(path);
+		return primitive == null ? def : primitive.getAsShort();
 	}
 
 	@Override
 	public byte getByte(@Nonnull String path, byte def) {
-		return getPrimitive(path).map(JsonPrimitive::getAsByte).orElse(def);
+		JsonPrimitive primitive = getPrimitive(path);
+		return primitive == null ? def : primitive.getAsByte();
 	}
 
 	@Override
 	public double getDouble(@Nonnull String path, double def) {
-		return getPrimitive(path).map(JsonPrimitive::getAsDouble).orElse(def);
+		JsonPrimitive primitive = getPrimitive(path);
+		return primitive == null ? def : primitive.getAsDouble();
 	}
 
 	@Override
 	public float getFloat(@Nonnull String path, float def) {
-		return getPrimitive(path).map(JsonPrimitive::getAsFloat).orElse(def);
+		JsonPrimitive primitive = getPrimitive(path);
+		return primitive == null ? def : primitive.getAsFloat();
 	}
 
 	@Override
 	public boolean getBoolean(@Nonnull String path, boolean def) {
-		return getPrimitive(path).map(JsonPrimitive::getAsBoolean).orElse(def);
+		JsonPrimitive primitive = getPrimitive(path);
+		return primitive == null ? def : primitive.getAsBoolean();
 	}
 
 	@Nonnull
 	@Override
 	public List<String> getStringList(@Nonnull String path) {
-		JsonElement element = getElement(path).orElse(null);
+		JsonElement element = getElement(path);
 		if (element == null || element.isJsonNull()) return new ArrayList<>();
 		if (element.isJsonPrimitive()) return new ArrayList<>(Collections.singletonList(GsonUtils.convertJsonElementToString(element)));
 		if (element.isJsonObject()) throw new IllegalStateException("Cannot extract list out of json object at '" + path + "'");
@@ -282,12 +291,102 @@ public class GsonDocument extends AbstractDocument {
 	}
 
 	private boolean checkElement(@Nonnull String path, @Nonnull Function<? super JsonElement, Boolean> check) {
-		return getElement(path).map(check).orElse(false);
+		JsonElement element = getElement(path);
+		return element != null && check.apply(element);
 	}
 
 	@Override
 	public boolean contains(@Nonnull String path) {
-		return getElement(path).isPresent();
+		return getElement(path) != null;
+	}
+
+	@Nullable
+	@Override
+	public Object getObject(@Nonnull DocumentPath path) {
+		return GsonUtils.unpackJsonElement(getElement(path, jsonObject));
+	}
+
+	@Nullable
+	@Override
+	public String getString(@Nonnull DocumentPath path) {
+		return GsonUtils.convertJsonElementToString(getElement(path, jsonObject));
+	}
+
+	@Nonnull
+	@Override
+	public String getString(@Nonnull DocumentPath path, @Nonnull String def) {
+		String value = getString(path);
+		return value == null ? def : value;
+	}
+
+	@Override
+	public long getLong(@Nonnull DocumentPath path) {
+		return getLong(path, 0);
+	}
+
+	@Override
+	public long getLong(@Nonnull DocumentPath path, long def) {
+		JsonPrimitive primitive = getPrimitive(path);
+		return primitive == null ? def : primitive.getAsLong();
+	}
+
+	@Override
+	public int getInt(@Nonnull DocumentPath path) {
+		return getInt(path, 0);
+	}
+
+	@Override
+	public int getInt(@Nonnull DocumentPath path, int def) {
+		JsonPrimitive primitive = getPrimitive(path);
+		return primitive == null ? def : primitive.getAsInt();
+	}
+
+	@Override
+	public float getFloat(@Nonnull DocumentPath path) {
+		return getFloat(path, 0);
+	}
+
+	@Override
+	public float getFloat(@Nonnull DocumentPath path, float def) {
+		JsonPrimitive primitive = getPrimitive(path);
+		return primitive == null ? def : primitive.getAsFloat();
+	}
+
+	@Override
+	public double getDouble(@Nonnull DocumentPath path) {
+		return getDouble(path, 0);
+	}
+
+	@Override
+	public double getDouble(@Nonnull DocumentPath path, double def) {
+		JsonPrimitive primitive = getPrimitive(path);
+		return primitive == null ? def : primitive.getAsDouble();
+	}
+
+	@Override
+	public boolean getBoolean(@Nonnull DocumentPath path) {
+		return getBoolean(path, false);
+	}
+
+	@Override
+	public boolean getBoolean(@Nonnull DocumentPath path, boolean def) {
+		JsonPrimitive primitive = getPrimitive(path);
+		return primitive == null ? def : primitive.getAsBoolean();
+	}
+
+	@Nonnull
+	@Override
+	public List<String> getStringList(@Nonnull DocumentPath path) {
+		JsonElement element = getElement(path, jsonObject);
+		if (element == null || element.isJsonNull()) return new ArrayList<>();
+		if (element.isJsonPrimitive()) return new ArrayList<>(Collections.singletonList(GsonUtils.convertJsonElementToString(element)));
+		if (element.isJsonObject()) throw new IllegalStateException("Cannot extract list out of json object at '" + path + "'");
+		return GsonUtils.convertJsonArrayToStringList(element.getAsJsonArray());
+	}
+
+	@Override
+	public boolean contains(@Nonnull DocumentPath path) {
+		return getElement(path, jsonObject) != null;
 	}
 
 	@Override
@@ -341,45 +440,55 @@ public class GsonDocument extends AbstractDocument {
 		return keys;
 	}
 
-	@Nonnull
-	private Optional<JsonPrimitive> getPrimitive(@Nonnull String path) {
-		return getElement(path)
-				.filter(JsonPrimitive.class::isInstance)
-				.map(JsonPrimitive.class::cast);
+	@Nullable
+	private JsonPrimitive getPrimitive(@Nonnull String path) {
+		return asPrimitive(getElement(path));
 	}
 
-	@Nonnull
-	private Optional<JsonElement> getElement(@Nonnull String path) {
-		return getElement(path, jsonObject);
+	@Nullable
+	private JsonPrimitive getPrimitive(@Nonnull DocumentPath path) {
+		return asPrimitive(getElement(path, jsonObject));
 	}
 
-	@Nonnull
-	private Optional<JsonElement> getElement(@Nonnull String path, @Nonnull JsonObject object) {
-
-		JsonElement fullPathElement = object.get(path);
-		if (fullPathElement != null) return Optional.of(fullPathElement);
-
-		int index = path.indexOf('.');
-		if (index == -1) return Optional.empty();
-
-		String child = path.substring(0, index);
-		String newPath = path.substring(index + 1);
-
-		JsonElement element = object.get(child);
-		if (element == null || element.isJsonNull()) return Optional.empty();
-
-		return getElement(newPath, element.getAsJsonObject());
+	@Nullable
+	private static JsonPrimitive asPrimitive(@Nullable JsonElement element) {
+		return element instanceof JsonPrimitive ? (JsonPrimitive) element : null;
+	}
 
+	@Nullable
+	private JsonElement getElement(@Nonnull String path) {
+		// most keys are not nested, those are resolved without looking up the compiled path
+		JsonElement element = jsonObject.get(path);
+		if (element != null || path.indexOf('.') == -1) return element;
+		return getElement(DocumentPath.of(path), jsonObject);
+	}
+
+	/**
+	 * Resolves the path like it was written, trying the remaining path as a single key before descending into the next segment.
+	 *
+	 * @return the element at the path, or {@code null} if there is none
+	 */
+	@Nullable
+	public static JsonElement getElement(@Nonnull DocumentPath path, @Nonnull JsonObject object) {
+		int last = path.getDepth() - 1;
+		for (int i = 0; ; i++) {
+			JsonElement element = object.get(path.getRemaining(i));
+			if (element != null || i == last) return element;
+
+			JsonElement child = object.get(path.getSegment(i));
+			if (child == null || child.isJsonNull()) return null;
+			object = child.getAsJsonObject();
+		}
 	}
 
 	private void setElement(@Nonnull String path, @Nullable Object value) {
 
-		LinkedList<String> paths = determinePath(path);
+		DocumentPath paths = DocumentPath.of(path);
 		JsonObject object = jsonObject;
 
-		for (int i = 0; i < paths.size() - 1; i++) {
+		for (int i = 0; i < paths.getDepth() - 1; i++) {
 
-			String current = paths.get(i);
+			String current = paths.getSegment(i);
 			JsonElement element = object.get(current);
 			if (element == null || element.isJsonNull()) {
 				if (value == null) return; // There's noting to remove
@@ -391,7 +500,7 @@ public class GsonDocument extends AbstractDocument {
 
 		}
 
-		String lastPath = paths.getLast();
+		String lastPath = paths.getLastSegment();
 		JsonElement jsonValue =
 			value instanceof JsonElement ? (JsonElement) value
 		  : value == null ? JsonNull.INSTANCE
@@ -403,23 +512,6 @@ public class GsonDocument extends AbstractDocument {
 
 	}
 
-	@Nonnull
-	private LinkedList<String> determinePath(@Nonnull String path) {
-
-		LinkedList<String> paths = new LinkedList<>();
-		String pathCopy = path;
-		int index;
-		while ((index = pathCopy.indexOf('.')) != -1) {
-			String child = pathCopy.substring(0, index);
-			pathCopy = pathCopy.substring(index + 1);
-			paths.add(child);
-		}
-		paths.add(pathCopy);
-
-		return paths;
-
-	}
-
 	@Nonnull
 	@Override
 	public String toJson() {
@@ -452,8 +544,7 @@ public class GsonDocument extends AbstractDocument {
 
 	@Override
 	public void write(@Nonnull Writer writer) throws IOException {
-		cleanup();
-		(writePrettyJson ? GSON_PRETTY_PRINT : GSON).toJson(jsonObject, writer);
+		GsonUtils.writeJsonObject(writePrettyJson ? GSON_PRETTY_PRINT : GSON, writer, jsonObject, cleanupEmptyObjects, cleanupEmptyArrays);
 	}
 
 	@Nonnull
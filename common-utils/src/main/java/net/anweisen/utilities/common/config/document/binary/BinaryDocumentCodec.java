@@ -0,0 +1,503 @@
+package net.anweisen.utilities.common.config.document.binary;
+
+import com.google.gson.*;
+import com.google.gson.internal.LazilyParsedNumber;
+import net.anweisen.utilities.common.config.Document;
+import net.anweisen.utilities.common.config.document.GsonDocument;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.Map.Entry;
+
+/**
+ * Encodes document trees in a compact binary format, which is read and written without parsing or formatting text.
+ *
+ * The format starts with a header and a table of all keys and strings, every distinct string is only stored once.
+ * It is followed by the root object, every value is stored as a type tag followed by its data.
+ * Objects and arrays are prefixed by their size, strings are referenced by their index in the table.
+ * Sizes, indices and integral numbers are stored as variable length integers.
+ *
+ * Numbers keep their type ({@link Integer}, {@link Long}, {@link Double}, ...), so trees of {@link GsonDocument}s
+ * and the maps of {@link net.anweisen.utilities.common.config.document.MapDocument}s are decoded exactly like they were encoded.
+ *
+ * Objects and arrays can be nested at most {@link #MAX_DEPTH} levels deep.
+ * Empty input is decoded as an empty document, like an empty json file.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.6
+ */
+public final class BinaryDocumentCodec {
+
+	public static final int MAGIC = 0x55444F43; // UDOC
+	public static final byte VERSION = 1;
+	public static final int MAX_DEPTH = 512;
+
+	private static final byte
+		NULL        = 0,
+		TRUE        = 1,
+		FALSE       = 2,
+		STRING      = 3,
+		INT         = 4,
+		LONG        = 5,
+		DOUBLE      = 6,
+		FLOAT       = 7,
+		SHORT       = 8,
+		BYTE        = 9,
+		BIG_INTEGER = 10,
+		BIG_DECIMAL = 11,
+		NUMBER      = 12,
+		OBJECT      = 13,
+		ARRAY       = 14;
+
+	private BinaryDocumentCodec() {}
+
+	/**
+	 * @return the header and the body, to be written in this order
+	 */
+	@Nonnull
+	public static ByteBuffer[] encode(@Nonnull JsonObject object) {
+		Encoder encoder = new Encoder();
+		encoder.writeJson(object);
+		return encoder.finish();
+	}
+
+	/**
+	 * Values which are no maps, iterables, arrays, strings, numbers or booleans are converted like {@link GsonDocument#GsonDocument(Map)} does it.
+	 *
+	 * @return the header and the body, to be written in this order
+	 */
+	@Nonnull
+	public static ByteBuffer[] encode(@Nonnull Map<String, ?> values) {
+		Encoder encoder = new Encoder();
+		encoder.writeValue(values);
+		return encoder.finish();
+	}
+
+	@Nonnull
+	public static ByteBuffer[] encode(@Nonnull Document document) {
+		return document instanceof GsonDocument ? encode(((GsonDocument) document).getJsonObject()) : encode(document.values());
+	}
+
+	public static void write(@Nonnull WritableByteChannel channel, @Nonnull ByteBuffer[] buffers) throws IOException {
+		for (ByteBuffer buffer : buffers) {
+			while (buffer.hasRemaining())
+				channel.write(buffer);
+		}
+	}
+
+	@Nonnull
+	public static byte[] toByteArray(@Nonnull ByteBuffer[] buffers) {
+		int size = 0;
+		for (ByteBuffer buffer : buffers) size += buffer.remaining();
+
+		ByteBuffer result = ByteBuffer.allocate(size);
+		for (ByteBuffer buffer : buffers) result.put(buffer.duplicate());
+		return result.array();
+	}
+
+	@Nonnull
+	public static ByteBuffer readFile(@Nonnull Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE) throw new IOException("File \"" + file + "\" is too large (" + size + " bytes)");
+
+			ByteBuffer buffer = ByteBuffer.allocate((int) size);
+			while (buffer.hasRemaining() && channel.read(buffer) != -1);
+			buffer.flip();
+			return buffer;
+		}
+	}
+
+	@Nonnull
+	public static JsonObject decodeJson(@Nonnull ByteBuffer buffer) throws IOException {
+		if (!buffer.hasRemaining()) return new JsonObject();
+		try {
+			Decoder decoder = new Decoder(buffer);
+			return decoder.readJson(decoder.readRootTag()).getAsJsonObject();
+		} catch (BufferUnderflowException | IndexOutOfBoundsException | NumberFormatException ex) {
+			throw new IOException("Corrupt binary document", ex);
+		}
+	}
+
+	@Nonnull
+	@SuppressWarnings("unchecked")
+	public static Map<String, Object> decodeMap(@Nonnull ByteBuffer buffer) throws IOException {
+		if (!buffer.hasRemaining()) return new LinkedHashMap<>();
+		try {
+			Decoder decoder = new Decoder(buffer);
+			return (Map<String, Object>) decoder.readValue(decoder.readRootTag());
+		} catch (BufferUnderflowException | IndexOutOfBoundsException | NumberFormatException ex) {
+			throw new IOException("Corrupt binary document", ex);
+		}
+	}
+
+	private static final class Encoder {
+
+		private final Map<String, Integer> strings = new LinkedHashMap<>();
+		private ByteBuffer body = ByteBuffer.allocate(4096);
+		private int depth;
+
+		/**
+		 * Deeper documents could not be decoded again
+		 */
+		private void enter() {
+			if (++depth > MAX_DEPTH) throw new IllegalArgumentException("Document is nested deeper than " + MAX_DEPTH + " levels");
+		}
+
+		private void ensure(int bytes) {
+			if (body.remaining() >= bytes) return;
+
+			ByteBuffer grown = ByteBuffer.allocate(Math.max(body.capacity() * 2, body.position() + bytes));
+			body.flip();
+			grown.put(body);
+			body = grown;
+		}
+
+		private void writeTag(byte tag) {
+			ensure(1);
+			body.put(tag);
+		}
+
+		private void writeVarLong(long value) {
+			ensure(10);
+			while ((value & ~0x7FL) != 0) {
+				body.put((byte) ((value & 0x7F) | 0x80));
+				value >>>= 7;
+			}
+			body.put((byte) value);
+		}
+
+		private void writeZigZag(long value) {
+			writeVarLong((value << 1) ^ (value >> 63));
+		}
+
+		private void writeString(@Nonnull String string) {
+			Integer index = strings.get(string);
+			if (index == null) strings.put(string, index = strings.size());
+			writeVarLong(index);
+		}
+
+		private void writeJson(@Nonnull JsonElement element) {
+			if (element.isJsonObject()) {
+				Set<Entry<String, JsonElement>> entries = element.getAsJsonObject().entrySet();
+				writeTag(OBJECT);
+				writeVarLong(entries.size());
+				enter();
+				for (Entry<String, JsonElement> entry : entries) {
+					writeString(entry.getKey());
+					writeJson(entry.getValue());
+				}
+				depth--;
+			} else if (element.isJsonArray()) {
+				JsonArray array = element.getAsJsonArray();
+				writeTag(ARRAY);
+				writeVarLong(array.size());
+				enter();
+				for (JsonElement current : array)
+					writeJson(current);
+				depth--;
+			} else if (element.isJsonPrimitive()) {
+				JsonPrimitive primitive = element.getAsJsonPrimitive();
+				if (primitive.isBoolean()) writeTag(primitive.getAsBoolean() ? TRUE : FALSE);
+				else if (primitive.isNumber()) writeNumber(primitive.getAsNumber());
+				else writeStringValue(primitive.getAsString());
+			} else {
+				writeTag(NULL);
+			}
+		}
+
+		private void writeValue(@Nullable Object value) {
+			if (value == null) {
+				writeTag(NULL);
+			} else if (value instanceof JsonElement) {
+				writeJson((JsonElement) value);
+			} else if (value instanceof GsonDocument) {
+				writeJson(((GsonDocument) value).getJsonObject());
+			} else if (value instanceof Document) {
+				writeValue(((Document) value).values());
+			} else if (value instanceof Map) {
+				Map<?, ?> map = (Map<?, ?>) value;
+				writeTag(OBJECT);
+				writeVarLong(map.size());
+				enter();
+				for (Entry<?, ?> entry : map.entrySet()) {
+					writeString(String.valueOf(entry.getKey()));
+					writeValue(entry.getValue());
+				}
+				depth--;
+			} else if (value instanceof Collection) {
+				Collection<?> collection = (Collection<?>) value;
+				writeTag(ARRAY);
+				writeVarLong(collection.size());
+				enter();
+				for (Object current : collection)
+					writeValue(current);
+				depth--;
+			} else if (value instanceof Iterable) {
+				List<Object> list = new ArrayList<>();
+				((Iterable<?>) value).forEach(list::add);
+				writeValue(list);
+			} else if (value.getClass().isArray()) {
+				int length = Array.getLength(value);
+				writeTag(ARRAY);
+				writeVarLong(length);
+				enter();
+				for (int i = 0; i < length; i++)
+					writeValue(Array.get(value, i));
+				depth--;
+			} else if (value instanceof String || value instanceof Character) {
+				writeStringValue(value.toString());
+			} else if (value instanceof Boolean) {
+				writeTag((Boolean) value ? TRUE : FALSE);
+			} else if (value instanceof Number) {
+				writeNumber((Number) value);
+			} else {
+				writeJson(GsonDocument.GSON.toJsonTree(value));
+			}
+		}
+
+		private void writeStringValue(@Nonnull String value) {
+			writeTag(STRING);
+			writeString(value);
+		}
+
+		private void writeNumber(@Nonnull Number number) {
+			if (number instanceof Integer) {
+				writeTag(INT);
+				writeZigZag(number.intValue());
+			} else if (number instanceof Long) {
+				writeTag(LONG);
+				writeZigZag(number.longValue());
+			} else if (number instanceof Double) {
+				writeTag(DOUBLE);
+				ensure(8);
+				body.putDouble(number.doubleValue());
+			} else if (number instanceof Float) {
+				writeTag(FLOAT);
+				ensure(4);
+				body.putFloat(number.floatValue());
+			} else if (number instanceof Short) {
+				writeTag(SHORT);
+				writeZigZag(number.shortValue());
+			} else if (number instanceof Byte) {
+				writeTag(BYTE);
+				ensure(1);
+				body.put(number.byteValue());
+			} else if (number instanceof BigInteger) {
+				writeTag(BIG_INTEGER);
+				writeString(number.toString());
+			} else if (number instanceof BigDecimal) {
+				writeTag(BIG_DECIMAL);
+				writeString(number.toString());
+			} else {
+				// numbers parsed by gson keep their text, so they are written like they were read
+				writeTag(NUMBER);
+				writeString(number.toString());
+			}
+		}
+
+		@Nonnull
+		private ByteBuffer[] finish() {
+			byte[][] encoded = new byte[strings.size()][];
+			int size = 4 + 1 + 5;
+			int i = 0;
+			for (String string : strings.keySet()) {
+				byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+				encoded[i++] = bytes;
+				size += 5 + bytes.length;
+			}
+
+			ByteBuffer header = ByteBuffer.allocate(size);
+			header.putInt(MAGIC);
+			header.put(VERSION);
+			putVarInt(header, encoded.length);
+			for (byte[] bytes : encoded) {
+				putVarInt(header, bytes.length);
+				header.put(bytes);
+			}
+
+			header.flip();
+			body.flip();
+			return new ByteBuffer[] { header, body };
+		}
+
+		private static void putVarInt(@Nonnull ByteBuffer buffer, int value) {
+			while ((value & ~0x7F) != 0) {
+				buffer.put((byte) ((value & 0x7F) | 0x80));
+				value >>>= 7;
+			}
+			buffer.put((byte) value);
+		}
+
+	}
+
+	private static final class Decoder {
+
+		private final ByteBuffer buffer;
+		private final String[] strings;
+		private int depth;
+
+		private Decoder(@Nonnull ByteBuffer buffer) throws IOException {
+			this.buffer = buffer;
+
+			if (buffer.getInt() != MAGIC) throw new IOException("Not a binary document");
+			byte version = buffer.get();
+			if (version != VERSION) throw new IOException("Unsupported binary document version " + version);
+
+			strings = new String[readSize()];
+			for (int i = 0; i < strings.length; i++) {
+				int length = readSize();
+				strings[i] = readUtf8(length);
+			}
+		}
+
+		@Nonnull
+		private String readUtf8(int length) {
+			if (buffer.hasArray()) {
+				String string = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+				buffer.position(buffer.position() + length);
+				return string;
+			}
+
+			byte[] bytes = new byte[length];
+			buffer.get(bytes);
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+
+		private long readVarLong() throws IOException {
+			long value = 0;
+			for (int shift = 0; shift < 64; shift += 7) {
+				byte current = buffer.get();
+				value |= (long) (current & 0x7F) << shift;
+				if ((current & 0x80) == 0) return value;
+			}
+			throw new IOException("Corrupt binary document, variable length number is too long");
+		}
+
+		private long readZigZag() throws IOException {
+			long value = readVarLong();
+			return (value >>> 1) ^ -(value & 1);
+		}
+
+		/**
+		 * Every entry takes at least one byte, so larger sizes cannot be valid and would only allocate memory
+		 */
+		private int readSize() throws IOException {
+			long size = readVarLong();
+			if (size < 0 || size > buffer.remaining()) throw new IOException("Corrupt binary document, invalid size " + size);
+			return (int) size;
+		}
+
+		@Nonnull
+		private String readString() throws IOException {
+			long index = readVarLong();
+			if (index < 0 || index >= strings.length) throw new IOException("Corrupt binary document, invalid string index " + index);
+			return strings[(int) index];
+		}
+
+		/**
+		 * Limits the recursion, so corrupt documents cannot overflow the stack
+		 */
+		private void enter() throws IOException {
+			if (++depth > MAX_DEPTH) throw new IOException("Corrupt binary document, nested deeper than " + MAX_DEPTH + " levels");
+		}
+
+		private byte readRootTag() throws IOException {
+			byte tag = buffer.get();
+			if (tag != OBJECT) throw new IOException("Corrupt binary document, root is no object");
+			return tag;
+		}
+
+		@Nonnull
+		private JsonElement readJson(byte tag) throws IOException {
+			switch (tag) {
+				case NULL:          return JsonNull.INSTANCE;
+				case TRUE:          return new JsonPrimitive(true);
+				case FALSE:         return new JsonPrimitive(false);
+				case STRING:        return new JsonPrimitive(readString());
+				case OBJECT: {
+					int size = readSize();
+					JsonObject object = new JsonObject();
+					enter();
+					for (int i = 0; i < size; i++) {
+						String key = readString();
+						object.add(key, readJson(buffer.get()));
+					}
+					depth--;
+					return object;
+				}
+				case ARRAY: {
+					int size = readSize();
+					JsonArray array = new JsonArray();
+					enter();
+					for (int i = 0; i < size; i++)
+						array.add(readJson(buffer.get()));
+					depth--;
+					return array;
+				}
+				default:            return new JsonPrimitive(readNumber(tag));
+			}
+		}
+
+		@Nullable
+		private Object readValue(byte tag) throws IOException {
+			switch (tag) {
+				case NULL:          return null;
+				case TRUE:          return true;
+				case FALSE:         return false;
+				case STRING:        return readString();
+				case OBJECT: {
+					int size = readSize();
+					Map<String, Object> map = new LinkedHashMap<>(Math.max(16, size * 4 / 3 + 1));
+					enter();
+					for (int i = 0; i < size; i++) {
+						String key = readString();
+						map.put(key, readValue(buffer.get()));
+					}
+					depth--;
+					return map;
+				}
+				case ARRAY: {
+					int size = readSize();
+					List<Object> list = new ArrayList<>(size);
+					enter();
+					for (int i = 0; i < size; i++)
+						list.add(readValue(buffer.get()));
+					depth--;
+					return list;
+				}
+				default:            return readNumber(tag);
+			}
+		}
+
+		@Nonnull
+		private Number readNumber(byte tag) throws IOException {
+			switch (tag) {
+				case INT:           return (int) readZigZag();
+				case LONG:          return readZigZag();
+				case DOUBLE:        return buffer.getDouble();
+				case FLOAT:         return buffer.getFloat();
+				case SHORT:         return (short) readZigZag();
+				case BYTE:          return buffer.get();
+				case BIG_INTEGER:   return new BigInteger(readString());
+				case BIG_DECIMAL:   return new BigDecimal(readString());
+				case NUMBER:        return new LazilyParsedNumber(readString());
+				default:            throw new IOException("Corrupt binary document, unknown type " + tag);
+			}
+		}
+
+	}
+
+}
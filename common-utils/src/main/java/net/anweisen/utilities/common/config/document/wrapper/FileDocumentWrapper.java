@@ -1,25 +1,98 @@
 package net.anweisen.utilities.common.config.document.wrapper;
 
+import net.anweisen.utilities.common.collection.WrappedException;
 import net.anweisen.utilities.common.config.Document;
 import net.anweisen.utilities.common.config.FileDocument;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
 import java.nio.file.Path;
+import java.util.*;
 
 /**
+ * Changes, saves and {@link #reload() reloads} through this wrapper are synchronized on it,
+ * so no change is applied to a document which is just being replaced and saves do not overlap with reloads.
+ *
  * @author anweisen | https://github.com/anweisen
  * @since 1.0
  */
 public class FileDocumentWrapper implements WrappedDocument<FileDocument>, FileDocument {
 
-	protected final Document document;
 	protected final File file;
+	protected volatile Document document;
+	protected volatile long lastModified;
 
 	public FileDocumentWrapper(@Nonnull File file, @Nonnull Document document) {
 		this.file = file;
 		this.document = document;
+		this.lastModified = file.lastModified();
+	}
+
+	@Override
+	public synchronized void saveExceptionally() throws IOException {
+		FileDocument.super.saveExceptionally();
+		lastModified = file.lastModified();
+	}
+
+	@Nonnull
+	@Override
+	public synchronized Set<String> reload() throws IOException {
+		long modified = file.lastModified();
+		Document current = document;
+		Document reloaded;
+		try {
+			reloaded = Document.readFile(current.getClass(), file);
+		} catch (WrappedException ex) {
+			Throwable cause = ex.getCause() instanceof InvocationTargetException ? ex.getCause().getCause() : ex.getCause();
+			throw new IOException("Could not read " + current.getClass().getSimpleName() + " from file \"" + file + "\"", cause);
+		}
+
+		// some parsers (like bukkit's yaml configuration) only log syntax errors and return an empty result
+		if (reloaded.isEmpty() && !current.isEmpty() && file.length() > 0)
+			throw new IOException("File \"" + file + "\" was read as empty, keeping the current contents");
+
+		Set<String> changes = new LinkedHashSet<>();
+		collectChanges("", current, reloaded, changes);
+		document = reloaded;
+		lastModified = modified;
+		return changes;
+	}
+
+	/**
+	 * Only compares leaf values, sections are compared key by key
+	 * as their values (like bukkit's {@code MemorySection}) do not have to implement {@link Object#equals(Object)}
+	 */
+	protected static void collectChanges(@Nonnull String prefix, @Nonnull Document before, @Nonnull Document after, @Nonnull Set<String> changes) {
+		Set<String> keys = new LinkedHashSet<>(before.keys());
+		keys.addAll(after.keys());
+		for (String key : keys) {
+			boolean contained = before.contains(key), contains = after.contains(key);
+			if (contained != contains) {
+				changes.add(prefix + key);
+				continue;
+			}
+
+			boolean wasDocument = before.isDocument(key), isDocument = after.isDocument(key);
+			if (wasDocument && isDocument) {
+				collectChanges(prefix + key + ".", before.getDocument(key), after.getDocument(key), changes);
+			} else if (wasDocument != isDocument || !Objects.equals(before.getObject(key), after.getObject(key))) {
+				changes.add(prefix + key);
+			}
+		}
+	}
+
+	@Override
+	public boolean isReloadable() {
+		return true;
+	}
+
+	@Override
+	public boolean hasExternalChanges() {
+		// a deleted file is not reloaded, which would drop all values
+		return file.exists() && file.lastModified() != lastModified;
 	}
 
 	@Override
@@ -41,25 +114,25 @@ public class FileDocumentWrapper implements WrappedDocument<FileDocument>, FileD
 
 	@Nonnull
 	@Override
-	public FileDocument set(@Nonnull String path, @Nullable Object value) {
+	public synchronized FileDocument set(@Nonnull String path, @Nullable Object value) {
 		return WrappedDocument.super.set(path, value);
 	}
 
 	@Nonnull
 	@Override
-	public FileDocument set(@Nonnull Object value) {
+	public synchronized FileDocument set(@Nonnull Object value) {
 		return WrappedDocument.super.set(value);
 	}
 
 	@Nonnull
 	@Override
-	public FileDocument clear() {
+	public synchronized FileDocument clear() {
 		return WrappedDocument.super.clear();
 	}
 
 	@Nonnull
 	@Override
-	public FileDocument remove(@Nonnull String path) {
+	public synchronized FileDocument remove(@Nonnull String path) {
 		return WrappedDocument.super.remove(path);
 	}
 
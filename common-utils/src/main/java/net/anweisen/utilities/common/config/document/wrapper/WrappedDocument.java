@@ -2,6 +2,7 @@ package net.anweisen.utilities.common.config.document.wrapper;
 
 
 import net.anweisen.utilities.common.config.Document;
+import net.anweisen.utilities.common.config.DocumentPath;
 import net.anweisen.utilities.common.config.Propertyable;
 import net.anweisen.utilities.common.version.Version;
 
@@ -511,4 +512,83 @@ public interface WrappedDocument<D extends Document> extends Document {
 		return (D) this;
 	}
 
+	@Nullable
+	@Override
+	default Object getObject(@Nonnull DocumentPath path) {
+		return getWrappedDocument().getObject(path);
+	}
+
+	@Nullable
+	@Override
+	default String getString(@Nonnull DocumentPath path) {
+		return getWrappedDocument().getString(path);
+	}
+
+	@Nonnull
+	@Override
+	default String getString(@Nonnull DocumentPath path, @Nonnull String def) {
+		return getWrappedDocument().getString(path, def);
+	}
+
+	@Override
+	default long getLong(@Nonnull DocumentPath path) {
+		return getWrappedDocument().getLong(path);
+	}
+
+	@Override
+	default long getLong(@Nonnull DocumentPath path, long def) {
+		return getWrappedDocument().getLong(path, def);
+	}
+
+	@Override
+	default int getInt(@Nonnull DocumentPath path) {
+		return getWrappedDocument().getInt(path);
+	}
+
+	@Override
+	default int getInt(@Nonnull DocumentPath path, int def) {
+		return getWrappedDocument().getInt(path, def);
+	}
+
+	@Override
+	default float getFloat(@Nonnull DocumentPath path) {
+		return getWrappedDocument().getFloat(path);
+	}
+
+	@Override
+	default float getFloat(@Nonnull DocumentPath path, float def) {
+		return getWrappedDocument().getFloat(path, def);
+	}
+
+	@Override
+	default double getDouble(@Nonnull DocumentPath path) {
+		return getWrappedDocument().getDouble(path);
+	}
+
+	@Override
+	default double getDouble(@Nonnull DocumentPath path, double def) {
+		return getWrappedDocument().getDouble(path, def);
+	}
+
+	@Override
+	default boolean getBoolean(@Nonnull DocumentPath path) {
+		return getWrappedDocument().getBoolean(path);
+	}
+
+	@Override
+	default boolean getBoolean(@Nonnull DocumentPath path, boolean def) {
+		return getWrappedDocument().getBoolean(path, def);
+	}
+
+	@Nonnull
+	@Override
+	default List<String> getStringList(@Nonnull DocumentPath path) {
+		return getWrappedDocument().getStringList(path);
+	}
+
+	@Override
+	default boolean contains(@Nonnull DocumentPath path) {
+		return getWrappedDocument().contains(path);
+	}
+
 }
@@ -10,12 +10,15 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.*;
 import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystem;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
@@ -125,6 +128,92 @@ public final class FileUtils {
 		return filename.substring(index + 1);
 	}
 
+	/**
+	 * Writes the file by writing a temporary file next to it, forcing it to the disk and moving it over the file.
+	 * The file is therefore either left untouched or completely replaced, even if the application crashes while writing.
+	 * Parent directories are created if necessary.
+	 *
+	 * @param action writes the content, the writer must not be closed by it
+	 */
+	public static void writeAtomically(@Nonnull Path file, @Nonnull ExceptionallyConsumer<? super Writer> action) throws IOException {
+		writeChannelAtomically(file, channel -> {
+			Writer writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), -1));
+			action.acceptExceptionally(writer);
+			writer.flush();
+		});
+	}
+
+	/**
+	 * Writes the file atomically like {@link #writeAtomically(Path, ExceptionallyConsumer)}, but passes the channel of the temporary file.
+	 *
+	 * @param action writes the content, the channel must not be closed by it
+	 */
+	public static void writeChannelAtomically(@Nonnull Path file, @Nonnull ExceptionallyConsumer<? super FileChannel> action) throws IOException {
+		Path target = file.toAbsolutePath();
+		Path directory = target.getParent();
+		if (directory != null) Files.createDirectories(directory);
+
+		// every write gets its own temporary file, so concurrent writes of the same file cannot mix their contents
+		Path temp;
+		FileChannel created;
+		while (true) {
+			temp = target.resolveSibling(target.getFileName() + "." + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+			try {
+				created = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+				break;
+			} catch (FileAlreadyExistsException ex) {
+				// try another name
+			}
+		}
+
+		boolean moved = false;
+		try {
+			try (FileChannel channel = created) {
+				copyPermissions(target, temp);
+				action.acceptExceptionally(channel);
+				channel.force(true);
+			} catch (IOException | RuntimeException ex) {
+				throw ex;
+			} catch (Exception ex) {
+				throw new IOException(ex);
+			}
+
+			try {
+				Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException ex) {
+				Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+			moved = true;
+		} finally {
+			if (!moved) Files.deleteIfExists(temp);
+		}
+
+		if (directory != null) forceDirectory(directory);
+	}
+
+	/**
+	 * The rename is only durable once the directory entry was written to the disk as well
+	 */
+	private static void forceDirectory(@Nonnull Path directory) {
+		try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+			channel.force(true);
+		} catch (IOException ex) {
+			// some platforms (like windows) cannot open or force directories
+		}
+	}
+
+	/**
+	 * The replaced file should keep its permissions instead of getting the default ones of the temporary file
+	 */
+	private static void copyPermissions(@Nonnull Path source, @Nonnull Path target) throws IOException {
+		if (!Files.exists(source)) return;
+		try {
+			Files.setPosixFilePermissions(target, Files.getPosixFilePermissions(source));
+		} catch (UnsupportedOperationException ex) {
+			// not a posix file system
+		}
+	}
+
 	public static void createFilesIfNecessary(@Nonnull File file) throws IOException {
 		if (file.exists()) return;
 
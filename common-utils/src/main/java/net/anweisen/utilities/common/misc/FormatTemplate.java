@@ -0,0 +1,177 @@
+package net.anweisen.utilities.common.misc;
+
+import net.anweisen.utilities.common.collection.WrappedException;
+import net.anweisen.utilities.common.logging.ILogger;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * A template for {@link StringUtils#format(String, Object...)} which is parsed once,
+ * so formatting only has to append the literals and arguments instead of walking the template every time.
+ *
+ * The template is split into literals and argument slots ({@code {0}}, {@code {1}}, ...).
+ * Arguments which are a {@link Supplier} or {@link Callable} are replaced by their result, like {@link StringUtils#format(String, Object...)} does.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.6
+ */
+public final class FormatTemplate {
+
+	private static final ILogger logger = ILogger.forThisClass();
+
+	private final String template;
+	private final String[] literals;
+	private final int[] slots;
+	private final String[] slotNames;
+	private final int literalLength;
+
+	private FormatTemplate(@Nonnull String template, @Nonnull String[] literals, @Nonnull int[] slots, @Nonnull String[] slotNames) {
+		this.template = template;
+		this.literals = literals;
+		this.slots = slots;
+		this.slotNames = slotNames;
+
+		int length = 0;
+		for (String literal : literals) length += literal.length();
+		this.literalLength = length;
+	}
+
+	@Nonnull
+	public static FormatTemplate compile(@Nonnull String template) {
+		char start = '{', end = '}';
+		List<String> literals = new ArrayList<>();
+		List<String> slotNames = new ArrayList<>();
+		StringBuilder literal = new StringBuilder();
+
+		int argumentStart = -1;
+		for (int i = 0; i < template.length(); i++) {
+			char c = template.charAt(i);
+			if (argumentStart == -1) {
+				if (c == start) argumentStart = i + 1;
+				else literal.append(c);
+				continue;
+			}
+			if (c != end) continue;
+
+			String argument = template.substring(argumentStart, i);
+			argumentStart = -1;
+			if (parseIndex(argument) == null) {
+				// can never be replaced, so it is kept as literal like StringUtils.format would do it
+				logger.warn("Invalid argument index '{}'", argument);
+				literal.append(start).append(argument).append(end);
+				continue;
+			}
+
+			literals.add(literal.toString());
+			slotNames.add(argument);
+			literal.setLength(0);
+		}
+
+		// an argument which was never closed is kept as literal, without the closing brace
+		if (argumentStart != -1 && argumentStart < template.length())
+			literal.append(start).append(template, argumentStart, template.length());
+		literals.add(literal.toString());
+
+		int[] slots = new int[slotNames.size()];
+		for (int i = 0; i < slots.length; i++)
+			slots[i] = parseIndex(slotNames.get(i));
+
+		return new FormatTemplate(template, literals.toArray(new String[0]), slots, slotNames.toArray(new String[0]));
+	}
+
+	@Nonnull
+	public static FormatTemplate[] compile(@Nonnull String[] templates) {
+		FormatTemplate[] compiled = new FormatTemplate[templates.length];
+		for (int i = 0; i < templates.length; i++)
+			compiled[i] = compile(templates[i]);
+		return compiled;
+	}
+
+	private static Integer parseIndex(@Nonnull String argument) {
+		try {
+			return Integer.parseInt(argument);
+		} catch (NumberFormatException ex) {
+			return null;
+		}
+	}
+
+	@Nonnull
+	public String format(@Nonnull Object... args) {
+		if (slots.length == 0) return literals[0];
+		return appendTo(new StringBuilder(estimateLength()), args).toString();
+	}
+
+	@Nonnull
+	public StringBuilder appendTo(@Nonnull StringBuilder builder, @Nonnull Object... args) {
+		builder.append(literals[0]);
+		for (int i = 0; i < slots.length; i++) {
+			int index = slots[i];
+			if (index < 0 || index >= args.length) {
+				logger.warn("Invalid argument index '{}'", slotNames[i]);
+				builder.append('{').append(slotNames[i]).append('}');
+			} else {
+				builder.append(resolve(args[index]));
+			}
+			builder.append(literals[i + 1]);
+		}
+		return builder;
+	}
+
+	@Nonnull
+	public static String[] format(@Nonnull FormatTemplate[] templates, @Nonnull Object... args) {
+		String[] result = new String[templates.length];
+		for (int i = 0; i < templates.length; i++)
+			result[i] = templates[i].format(args);
+		return result;
+	}
+
+	/**
+	 * @return the formatted templates joined by the separator
+	 */
+	@Nonnull
+	public static String format(@Nonnull FormatTemplate[] templates, @Nonnull String separator, @Nonnull Object... args) {
+		int length = 0;
+		for (FormatTemplate template : templates)
+			length += template.estimateLength() + separator.length();
+
+		StringBuilder builder = new StringBuilder(length);
+		for (int i = 0; i < templates.length; i++) {
+			if (i > 0) builder.append(separator);
+			templates[i].appendTo(builder, args);
+		}
+		return builder.toString();
+	}
+
+	private static Object resolve(Object argument) {
+		try {
+			return argument instanceof Supplier ? ((Supplier<?>) argument).get() :
+			       argument instanceof Callable ? ((Callable<?>) argument).call() :
+			       argument;
+		} catch (Exception ex) {
+			throw new WrappedException(ex);
+		}
+	}
+
+	private int estimateLength() {
+		return literalLength + slots.length * 16;
+	}
+
+	public int getArgumentCount() {
+		return slots.length;
+	}
+
+	@Nonnull
+	public String getTemplate() {
+		return template;
+	}
+
+	@Override
+	public String toString() {
+		return template;
+	}
+
+}
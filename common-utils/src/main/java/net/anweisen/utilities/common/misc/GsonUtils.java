@@ -1,9 +1,17 @@
 package net.anweisen.utilities.common.misc;
 
 import com.google.gson.*;
+import com.google.gson.internal.bind.TypeAdapters;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -119,6 +127,66 @@ public final class GsonUtils {
 		}
 	}
 
+	/**
+	 * Parses the json object from the reader in a single pass, without checking {@link Reader#ready()} first.
+	 * Empty input and {@code null} result in an empty object.
+	 *
+	 * @throws JsonParseException if the input is no json object or there is content after it
+	 */
+	@Nonnull
+	public static JsonObject readJsonObject(@Nonnull Reader reader) throws IOException {
+		JsonReader jsonReader = new JsonReader(reader);
+		jsonReader.setLenient(true);
+
+		try {
+			jsonReader.peek();
+		} catch (EOFException ex) {
+			return new JsonObject();
+		}
+
+		JsonElement element = TypeAdapters.JSON_ELEMENT.read(jsonReader);
+		if (jsonReader.peek() != JsonToken.END_DOCUMENT) throw new JsonSyntaxException("Did not consume the entire document");
+		if (element == null || element.isJsonNull()) return new JsonObject();
+		if (!element.isJsonObject()) throw new JsonSyntaxException("Expected a json object but was " + element.getClass().getSimpleName());
+		return element.getAsJsonObject();
+	}
+
+	/**
+	 * Writes the object like {@link Gson#toJson(JsonElement, Appendable)} would do it,
+	 * but leaves out empty objects and arrays while writing instead of removing them from the tree first.
+	 * Objects which only contain values that are left out count as empty, the contents of arrays are written as they are.
+	 * The root object is always written.
+	 */
+	public static void writeJsonObject(@Nonnull Gson gson, @Nonnull Writer writer, @Nonnull JsonObject object, boolean skipEmptyObjects, boolean skipEmptyArrays) throws IOException {
+		JsonWriter jsonWriter = gson.newJsonWriter(writer);
+		jsonWriter.setLenient(true);
+		writeJsonObject(jsonWriter, object, skipEmptyObjects, skipEmptyArrays);
+		jsonWriter.flush();
+	}
+
+	private static void writeJsonObject(@Nonnull JsonWriter writer, @Nonnull JsonObject object, boolean skipEmptyObjects, boolean skipEmptyArrays) throws IOException {
+		writer.beginObject();
+		for (Entry<String, JsonElement> entry : object.entrySet()) {
+			JsonElement value = entry.getValue();
+			if (isSkipped(value, skipEmptyObjects, skipEmptyArrays)) continue;
+
+			writer.name(entry.getKey());
+			if (value.isJsonObject()) writeJsonObject(writer, value.getAsJsonObject(), skipEmptyObjects, skipEmptyArrays);
+			else TypeAdapters.JSON_ELEMENT.write(writer, value);
+		}
+		writer.endObject();
+	}
+
+	private static boolean isSkipped(@Nonnull JsonElement value, boolean skipEmptyObjects, boolean skipEmptyArrays) {
+		if (skipEmptyArrays && value.isJsonArray()) return value.getAsJsonArray().size() == 0;
+		if (!skipEmptyObjects || !value.isJsonObject()) return false;
+
+		for (Entry<String, JsonElement> entry : value.getAsJsonObject().entrySet()) {
+			if (!isSkipped(entry.getValue(), true, skipEmptyArrays)) return false;
+		}
+		return true;
+	}
+
 	public static int getSize(@Nonnull JsonObject object) {
 		try {
 			return object.size();
@@ -9,9 +9,11 @@ import javax.annotation.CheckReturnValue;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.lang.annotation.Annotation;
+import java.lang.invoke.*;
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -248,6 +250,79 @@ public final class ReflectionUtils {
 		return null;
 	}
 
+	/**
+	 * Binds the method to an instance of the given functional interface using the {@link LambdaMetafactory},
+	 * so it can be invoked like a regular lambda instead of using {@link Method#invoke(Object, Object...)}.
+	 * Parameters of the method may be supertypes (or subtypes, which will be casted) of the parameters of the functional method.
+	 *
+	 * @param holder the instance to invoke the method on, ignored for static methods
+	 * @return the bound instance or {@code null} if the method cannot be bound this way,
+	 *         because it is not public or its classes are not visible from this class loader.
+	 *         Use a {@link MethodHandle} of the method as fallback.
+	 */
+	@Nullable
+	public static <T> T bindFunctional(@Nonnull Class<T> functionalInterface, @Nonnull Method method, @Nullable Object holder) {
+		Method functionalMethod = getFunctionalMethod(functionalInterface);
+		if (functionalMethod == null || functionalMethod.getParameterCount() != method.getParameterCount()) return null;
+		if (!Modifier.isPublic(method.getModifiers()) || !Modifier.isPublic(method.getDeclaringClass().getModifiers())) return null;
+		if (!isVisible(functionalInterface) || !isVisible(method.getDeclaringClass())) return null;
+
+		Class<?>[] functionalParameters = functionalMethod.getParameterTypes();
+		Class<?>[] methodParameters = method.getParameterTypes();
+		Class<?>[] instantiatedParameters = new Class<?>[functionalParameters.length];
+		for (int i = 0; i < functionalParameters.length; i++) {
+			if (!isVisible(methodParameters[i])) return null;
+			instantiatedParameters[i] = functionalParameters[i].isAssignableFrom(methodParameters[i]) ? methodParameters[i] : functionalParameters[i];
+		}
+
+		try {
+			boolean staticMethod = Modifier.isStatic(method.getModifiers());
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			CallSite site = LambdaMetafactory.metafactory(
+					lookup, functionalMethod.getName(),
+					staticMethod ? MethodType.methodType(functionalInterface) : MethodType.methodType(functionalInterface, method.getDeclaringClass()),
+					MethodType.methodType(functionalMethod.getReturnType(), functionalParameters),
+					lookup.unreflect(method),
+					MethodType.methodType(functionalMethod.getReturnType(), instantiatedParameters)
+			);
+			Object instance = staticMethod ? site.getTarget().invoke() : site.getTarget().invoke(holder);
+			return functionalInterface.cast(instance);
+		} catch (Throwable ex) {
+			return null;
+		}
+	}
+
+	@Nullable
+	private static Method getFunctionalMethod(@Nonnull Class<?> functionalInterface) {
+		if (!functionalInterface.isInterface()) return null;
+
+		Method functionalMethod = null;
+		for (Method method : functionalInterface.getMethods()) {
+			if (!Modifier.isAbstract(method.getModifiers()) || isObjectMethod(method)) continue;
+			if (functionalMethod != null) return null;
+			functionalMethod = method;
+		}
+		return functionalMethod;
+	}
+
+	private static boolean isObjectMethod(@Nonnull Method method) {
+		try {
+			Object.class.getMethod(method.getName(), method.getParameterTypes());
+			return true;
+		} catch (NoSuchMethodException ex) {
+			return false;
+		}
+	}
+
+	private static boolean isVisible(@Nonnull Class<?> clazz) {
+		if (clazz.isPrimitive()) return true;
+		try {
+			return Class.forName(clazz.getName(), false, ReflectionUtils.class.getClassLoader()) == clazz;
+		} catch (ClassNotFoundException | LinkageError ex) {
+			return false;
+		}
+	}
+
 	private static boolean check(@Nonnull String input, @Nullable Object value) {
 		if (value == null) return false;
 		if (value.getClass().isArray()) {
@@ -0,0 +1,110 @@
+package net.anweisen.utilities.database;
+
+import net.anweisen.utilities.common.config.Propertyable;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+/**
+ * Configures how connections of a pooled database are managed.
+ * Only databases which support pooling (currently sql databases) will respect this configuration.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.6
+ *
+ * @see DatabaseConfig#withPool(ConnectionPoolConfig)
+ */
+public final class ConnectionPoolConfig {
+
+	public static final int DEFAULT_MIN_SIZE = 1;
+	public static final int DEFAULT_MAX_SIZE = 10;
+	public static final long DEFAULT_IDLE_TIMEOUT = 10 * 60 * 1000;
+	public static final long DEFAULT_BORROW_TIMEOUT = 30 * 1000;
+	public static final int DEFAULT_VALIDATION_TIMEOUT = 5;
+
+	private final int minSize;
+	private final int maxSize;
+	private final long idleTimeout;
+	private final long borrowTimeout;
+	private final boolean validateOnBorrow;
+	private final int validationTimeout;
+
+	public ConnectionPoolConfig() {
+		this(DEFAULT_MIN_SIZE, DEFAULT_MAX_SIZE);
+	}
+
+	public ConnectionPoolConfig(@Nonnegative int minSize, @Nonnegative int maxSize) {
+		this(minSize, maxSize, DEFAULT_IDLE_TIMEOUT, DEFAULT_BORROW_TIMEOUT, true, DEFAULT_VALIDATION_TIMEOUT);
+	}
+
+	/**
+	 * @param minSize the amount of connections which will be kept open even if they are idle
+	 * @param maxSize the maximum amount of connections which may be open at the same time
+	 * @param idleTimeout the time in milliseconds after which an idle connection will be closed
+	 * @param borrowTimeout the time in milliseconds to wait for a free connection before failing
+	 * @param validateOnBorrow whether a connection should be validated before it is handed out
+	 * @param validationTimeout the time in seconds the validation of a connection may take
+	 */
+	public ConnectionPoolConfig(@Nonnegative int minSize, @Nonnegative int maxSize, @Nonnegative long idleTimeout,
+	                            @Nonnegative long borrowTimeout, boolean validateOnBorrow, @Nonnegative int validationTimeout) {
+		if (maxSize < 1) throw new IllegalArgumentException("Max size must be at least 1");
+		if (minSize < 0 || minSize > maxSize) throw new IllegalArgumentException("Min size must be between 0 and " + maxSize);
+		this.minSize = minSize;
+		this.maxSize = maxSize;
+		this.idleTimeout = idleTimeout;
+		this.borrowTimeout = borrowTimeout;
+		this.validateOnBorrow = validateOnBorrow;
+		this.validationTimeout = validationTimeout;
+	}
+
+	/**
+	 * Reads the pool settings from the {@code pool} section of a database config.
+	 */
+	public ConnectionPoolConfig(@Nonnull Propertyable config) {
+		this(
+				config.getInt("pool.min-size", DEFAULT_MIN_SIZE),
+				config.getInt("pool.max-size", DEFAULT_MAX_SIZE),
+				config.getLong("pool.idle-timeout", DEFAULT_IDLE_TIMEOUT),
+				config.getLong("pool.borrow-timeout", DEFAULT_BORROW_TIMEOUT),
+				config.getBoolean("pool.validate-on-borrow", true),
+				config.getInt("pool.validation-timeout", DEFAULT_VALIDATION_TIMEOUT)
+		);
+	}
+
+	public int getMinSize() {
+		return minSize;
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	public long getIdleTimeout() {
+		return idleTimeout;
+	}
+
+	public long getBorrowTimeout() {
+		return borrowTimeout;
+	}
+
+	public boolean isValidateOnBorrow() {
+		return validateOnBorrow;
+	}
+
+	public int getValidationTimeout() {
+		return validationTimeout;
+	}
+
+	@Override
+	public String toString() {
+		return "ConnectionPoolConfig{" +
+				"minSize=" + minSize +
+				", maxSize=" + maxSize +
+				", idleTimeout=" + idleTimeout +
+				", borrowTimeout=" + borrowTimeout +
+				", validateOnBorrow=" + validateOnBorrow +
+				", validationTimeout=" + validationTimeout +
+				'}';
+	}
+
+}
@@ -1,6 +1,7 @@
 package net.anweisen.utilities.database;
 
 import net.anweisen.utilities.common.concurrent.task.Task;
+import net.anweisen.utilities.common.function.ExceptionallyRunnable;
 import net.anweisen.utilities.common.logging.ILogger;
 import net.anweisen.utilities.database.action.*;
 import net.anweisen.utilities.database.exceptions.DatabaseAlreadyConnectedException;
@@ -68,6 +69,15 @@ public interface Database {
 	 */
 	boolean disconnectSafely();
 
+	/**
+	 * Registers an action which is executed right before the connection is closed by {@link #disconnect()}.
+	 * The connection is still usable inside of the hook, so it can be used to write pending changes.
+	 * Exceptions thrown by a hook are logged and do not prevent the disconnect.
+	 */
+	void addDisconnectHook(@Nonnull ExceptionallyRunnable hook);
+
+	void removeDisconnectHook(@Nonnull ExceptionallyRunnable hook);
+
 	void createTable(@Nonnull String name, @Nonnull SQLColumn... columns) throws DatabaseException;
 	void createTableSafely(@Nonnull String name, @Nonnull SQLColumn... columns);
 
@@ -96,6 +106,10 @@ public interface Database {
 	@CheckReturnValue
 	DatabaseInsertion insert(@Nonnull String table);
 
+	@Nonnull
+	@CheckReturnValue
+	DatabaseBatchInsertion insertBatch(@Nonnull String table);
+
 	@Nonnull
 	@CheckReturnValue
 	DatabaseInsertionOrUpdate insertOrUpdate(@Nonnull String table);
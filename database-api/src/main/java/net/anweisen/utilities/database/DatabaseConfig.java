@@ -2,7 +2,10 @@ package net.anweisen.utilities.database;
 
 import net.anweisen.utilities.common.config.Propertyable;
 
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 /**
  * @author anweisen | https://github.com/anweisen
@@ -18,6 +21,8 @@ public final class DatabaseConfig {
 	private final String file;
 	private final int port;
 	private final boolean portIsSet;
+	private final ConnectionPoolConfig pool;
+	private final int statementCacheSize;
 
 	public DatabaseConfig(String host, String database, String password, String user, int port) {
 		this(host, database, null, password, user, port, true, null);
@@ -38,6 +43,10 @@ public final class DatabaseConfig {
 	}
 
 	public DatabaseConfig(String host, String database, String authDatabase, String password, String user, int port, boolean portIsSet, String file) {
+		this(host, database, authDatabase, password, user, port, portIsSet, file, null, 0);
+	}
+
+	public DatabaseConfig(String host, String database, String authDatabase, String password, String user, int port, boolean portIsSet, String file, ConnectionPoolConfig pool, int statementCacheSize) {
 		this.host = host;
 		this.database = database;
 		this.authDatabase = authDatabase;
@@ -46,6 +55,8 @@ public final class DatabaseConfig {
 		this.port = port;
 		this.portIsSet = portIsSet;
 		this.file = file;
+		this.pool = pool;
+		this.statementCacheSize = statementCacheSize;
 	}
 
 	public DatabaseConfig(@Nonnull Propertyable config) {
@@ -57,10 +68,32 @@ public final class DatabaseConfig {
 				config.getString("user"),
 				config.getInt("port"),
 				config.contains("port"),
-				config.getString("file")
+				config.getString("file"),
+				config.getBoolean("pool.enabled") ? new ConnectionPoolConfig(config) : null,
+				config.getInt("statement-cache-size")
 		);
 	}
 
+	/**
+	 * @return a copy of this config which will make the database use a connection pool with the given settings
+	 */
+	@Nonnull
+	@CheckReturnValue
+	public DatabaseConfig withPool(@Nonnull ConnectionPoolConfig pool) {
+		return new DatabaseConfig(host, database, authDatabase, password, user, port, portIsSet, file, pool, statementCacheSize);
+	}
+
+	/**
+	 * @param size the maximum amount of prepared statements cached per connection, {@code 0} disables the cache
+	 *
+	 * @return a copy of this config which will make the database reuse prepared statements with the same command
+	 */
+	@Nonnull
+	@CheckReturnValue
+	public DatabaseConfig withStatementCache(@Nonnegative int size) {
+		return new DatabaseConfig(host, database, authDatabase, password, user, port, portIsSet, file, pool, size);
+	}
+
 	public int getPort() {
 		return port;
 	}
@@ -93,6 +126,19 @@ public final class DatabaseConfig {
 		return file;
 	}
 
+	@Nullable
+	public ConnectionPoolConfig getPool() {
+		return pool;
+	}
+
+	public boolean isPooled() {
+		return pool != null;
+	}
+
+	public int getStatementCacheSize() {
+		return statementCacheSize;
+	}
+
 	@Override
 	public String toString() {
 		return "DatabaseConfig{" +
@@ -103,6 +149,8 @@ public final class DatabaseConfig {
 				", file='" + file + '\'' +
 				", port=" + port +
 				", portIsSet=" + portIsSet +
+				", pool=" + pool +
+				", statementCacheSize=" + statementCacheSize +
 				'}';
 	}
 
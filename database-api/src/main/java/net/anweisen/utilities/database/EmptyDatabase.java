@@ -1,8 +1,11 @@
 package net.anweisen.utilities.database;
 
 import net.anweisen.utilities.common.concurrent.task.Task;
+import net.anweisen.utilities.common.config.Document;
+import net.anweisen.utilities.common.function.ExceptionallyRunnable;
 import net.anweisen.utilities.database.action.*;
 import net.anweisen.utilities.database.exceptions.DatabaseException;
+import net.anweisen.utilities.database.internal.abstraction.AbstractStreamedQuery;
 import net.anweisen.utilities.database.internal.abstraction.DefaultExecutedQuery;
 import net.anweisen.utilities.database.internal.abstraction.DefaultSpecificDatabase;
 
@@ -11,6 +14,7 @@ import javax.annotation.Nullable;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author anweisen | https://github.com/anweisen
@@ -59,6 +63,14 @@ public class EmptyDatabase implements Database {
 		return false;
 	}
 
+	@Override
+	public void addDisconnectHook(@Nonnull ExceptionallyRunnable hook) {
+	}
+
+	@Override
+	public void removeDisconnectHook(@Nonnull ExceptionallyRunnable hook) {
+	}
+
 	@Override
 	public void createTable(@Nonnull String name, @Nonnull SQLColumn... columns) throws DatabaseException {
 		if (!silent)
@@ -114,6 +126,15 @@ public class EmptyDatabase implements Database {
 		return new EmptyVoidAction();
 	}
 
+	@Nonnull
+	@Override
+	public DatabaseBatchInsertion insertBatch(@Nonnull String table) {
+		if (!silent)
+			exception("Cannot insert into a NOP Database");
+
+		return new EmptyVoidAction();
+	}
+
 	@Nonnull
 	@Override
 	public DatabaseInsertionOrUpdate insertOrUpdate(@Nonnull String table) {
@@ -199,6 +220,21 @@ public class EmptyDatabase implements Database {
 			return new DefaultExecutedQuery(Collections.emptyList());
 		}
 
+		@Nonnull
+		@Override
+		public StreamedQuery executeStreaming(int fetchSize) throws DatabaseException {
+			return new AbstractStreamedQuery() {
+				@Override
+				protected Document fetchNext() {
+					return null;
+				}
+
+				@Override
+				protected void close0() {
+				}
+			};
+		}
+
 		@Nonnull
 		@Override
 		public Task<ExecutedQuery> executeAsync() {
@@ -207,7 +243,7 @@ public class EmptyDatabase implements Database {
 
 	}
 
-	public static class EmptyVoidAction implements DatabaseDeletion, DatabaseInsertion, DatabaseUpdate, DatabaseInsertionOrUpdate {
+	public static class EmptyVoidAction implements DatabaseDeletion, DatabaseInsertion, DatabaseBatchInsertion, DatabaseUpdate, DatabaseInsertionOrUpdate {
 
 		@Nonnull
 		@Override
@@ -245,6 +281,17 @@ public class EmptyDatabase implements Database {
 			return this;
 		}
 
+		@Nonnull
+		@Override
+		public EmptyVoidAction add(@Nonnull Map<String, ?> values) {
+			return this;
+		}
+
+		@Override
+		public int size() {
+			return 0;
+		}
+
 		@Override
 		public Void execute() throws DatabaseException {
 			return null;
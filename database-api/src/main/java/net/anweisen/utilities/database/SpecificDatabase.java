@@ -49,6 +49,13 @@ public interface SpecificDatabase {
 	@CheckReturnValue
 	DatabaseInsertion insert();
 
+	/**
+	 * @see Database#insertBatch(String)
+	 */
+	@Nonnull
+	@CheckReturnValue
+	DatabaseBatchInsertion insertBatch();
+
 	/**
 	 * @see Database#insertOrUpdate(String)
 	 */
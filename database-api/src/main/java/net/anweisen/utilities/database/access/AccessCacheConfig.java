@@ -0,0 +1,100 @@
+package net.anweisen.utilities.database.access;
+
+import net.anweisen.utilities.common.config.Propertyable;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+/**
+ * Configures how many values a {@link CachedDatabaseAccess} keeps and for how long.
+ * A size or timeout of {@code 0} disables the respective limit.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.6
+ */
+public final class AccessCacheConfig {
+
+	public static final long DEFAULT_MAX_SIZE = 10_000;
+	public static final long DEFAULT_EXPIRE_AFTER_WRITE = 0;
+	public static final long DEFAULT_EXPIRE_AFTER_ACCESS = 30 * 60 * 1000;
+	public static final long DEFAULT_EXPIRE_ABSENT = 5 * 60 * 1000;
+
+	private final long maxSize;
+	private final long expireAfterWrite;
+	private final long expireAfterAccess;
+	private final long expireAbsent;
+
+	public AccessCacheConfig() {
+		this(DEFAULT_MAX_SIZE, DEFAULT_EXPIRE_AFTER_WRITE, DEFAULT_EXPIRE_AFTER_ACCESS);
+	}
+
+	public AccessCacheConfig(@Nonnegative long maxSize, @Nonnegative long expireAfterWrite, @Nonnegative long expireAfterAccess) {
+		this(maxSize, expireAfterWrite, expireAfterAccess, DEFAULT_EXPIRE_ABSENT);
+	}
+
+	/**
+	 * @param maxSize the maximum amount of cached values, the least recently used values are evicted first
+	 * @param expireAfterWrite the time in milliseconds after which a value is reloaded from the database
+	 * @param expireAfterAccess the time in milliseconds after which a value which was not read is evicted
+	 * @param expireAbsent the time in milliseconds for which the absence of a value is remembered, {@code 0} disables negative caching
+	 */
+	public AccessCacheConfig(@Nonnegative long maxSize, @Nonnegative long expireAfterWrite, @Nonnegative long expireAfterAccess, @Nonnegative long expireAbsent) {
+		if (maxSize < 0) throw new IllegalArgumentException("Max size cannot be negative");
+		if (expireAfterWrite < 0 || expireAfterAccess < 0 || expireAbsent < 0) throw new IllegalArgumentException("Expiration cannot be negative");
+		this.maxSize = maxSize;
+		this.expireAfterWrite = expireAfterWrite;
+		this.expireAfterAccess = expireAfterAccess;
+		this.expireAbsent = expireAbsent;
+	}
+
+	/**
+	 * Reads the cache settings from the {@code cache} section of a config.
+	 */
+	public AccessCacheConfig(@Nonnull Propertyable config) {
+		this(
+				config.getLong("cache.max-size", DEFAULT_MAX_SIZE),
+				config.getLong("cache.expire-after-write", DEFAULT_EXPIRE_AFTER_WRITE),
+				config.getLong("cache.expire-after-access", DEFAULT_EXPIRE_AFTER_ACCESS),
+				config.getLong("cache.expire-absent", DEFAULT_EXPIRE_ABSENT)
+		);
+	}
+
+	/**
+	 * @return a config which keeps all present values forever, like the cache did before it was configurable
+	 */
+	@Nonnull
+	public static AccessCacheConfig unbounded() {
+		return new AccessCacheConfig(0, 0, 0, 0);
+	}
+
+	public long getMaxSize() {
+		return maxSize;
+	}
+
+	public long getExpireAfterWrite() {
+		return expireAfterWrite;
+	}
+
+	public long getExpireAfterAccess() {
+		return expireAfterAccess;
+	}
+
+	public long getExpireAbsent() {
+		return expireAbsent;
+	}
+
+	public boolean isCachingAbsent() {
+		return expireAbsent > 0;
+	}
+
+	@Override
+	public String toString() {
+		return "AccessCacheConfig{" +
+				"maxSize=" + maxSize +
+				", expireAfterWrite=" + expireAfterWrite +
+				", expireAfterAccess=" + expireAfterAccess +
+				", expireAbsent=" + expireAbsent +
+				'}';
+	}
+
+}
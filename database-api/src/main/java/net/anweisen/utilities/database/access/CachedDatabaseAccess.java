@@ -1,64 +1,162 @@
 package net.anweisen.utilities.database.access;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import net.anweisen.utilities.common.config.Document;
 import net.anweisen.utilities.common.config.Propertyable;
 import net.anweisen.utilities.database.Database;
 import net.anweisen.utilities.database.exceptions.DatabaseException;
 
+import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 
 /**
+ * Caches the values of the database in a bounded cache, configured by an {@link AccessCacheConfig}.
+ * Changes made by other applications will only be visible after a value expired or was {@link #invalidate(String) invalidated}.
+ *
+ * Concurrent reads of the same missing key share a single query, the other callers wait for its result.
+ * Keys which have no value in the database are remembered for {@link AccessCacheConfig#getExpireAbsent()},
+ * so frequently read keys without a value (like guilds without a custom prefix) do not query the database every time.
+ *
  * @author anweisen | https://github.com/anweisen
  * @since 1.1
  */
 public class CachedDatabaseAccess<V> extends DirectDatabaseAccess<V> {
 
-	protected final Map<String, V> cache = new ConcurrentHashMap<>();
+	protected final AccessCacheConfig cacheConfig;
+	protected final Cache<String, V> cache;
+	protected final Cache<String, Boolean> absent;
 
 	public CachedDatabaseAccess(@Nonnull Database database, @Nonnull DatabaseAccessConfig config, @Nonnull BiFunction<? super Document, ? super String, ? extends V> mapper) {
-		super(database, config, mapper);
+		this(database, config, new AccessCacheConfig(), mapper);
 	}
 
-	@Nullable
-	@Override
-	public V getValue(@Nonnull String key) throws DatabaseException {
-		V value = cache.get(key);
-		if (value != null) return value;
-
-		value = super.getValue(key);
-		cache.put(key, value);
-		return value;
+	public CachedDatabaseAccess(@Nonnull Database database, @Nonnull DatabaseAccessConfig config, @Nonnull AccessCacheConfig cacheConfig,
+	                            @Nonnull BiFunction<? super Document, ? super String, ? extends V> mapper) {
+		super(database, config, mapper);
+		this.cacheConfig = cacheConfig;
+		this.cache = createCache(cacheConfig).build();
+		this.absent = createAbsentCache(cacheConfig).build();
 	}
 
 	@Nonnull
-	@Override
-	public V getValue(@Nonnull String key, @Nonnull V def) throws DatabaseException {
-		V value = cache.get(key);
-		if (value != null) return value;
+	protected CacheBuilder<Object, Object> createCache(@Nonnull AccessCacheConfig config) {
+		CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder().recordStats();
+		if (config.getMaxSize() > 0)
+			builder.maximumSize(config.getMaxSize());
+		if (config.getExpireAfterWrite() > 0)
+			builder.expireAfterWrite(config.getExpireAfterWrite(), TimeUnit.MILLISECONDS);
+		if (config.getExpireAfterAccess() > 0)
+			builder.expireAfterAccess(config.getExpireAfterAccess(), TimeUnit.MILLISECONDS);
+		return builder;
+	}
 
-		value = super.getValue(key, def);
-		cache.put(key, value);
-		return value;
+	@Nonnull
+	protected CacheBuilder<Object, Object> createAbsentCache(@Nonnull AccessCacheConfig config) {
+		CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder().recordStats();
+		if (config.getMaxSize() > 0)
+			builder.maximumSize(config.getMaxSize());
+		// an expiration of 0 evicts every entry immediately, which disables negative caching
+		builder.expireAfterWrite(config.getExpireAbsent(), TimeUnit.MILLISECONDS);
+		return builder;
 	}
 
 	@Nonnull
 	@Override
-	public Optional<V> getValueOptional(@Nonnull String key) throws DatabaseException {
-		V cached = cache.get(key);
-		if (cached != null) return Optional.of(cached);
+	protected Optional<V> getValue0(@Nonnull String key) throws DatabaseException {
+		if (absent.getIfPresent(key) != null) return Optional.empty();
+
+		try {
+			return Optional.of(cache.get(key, () -> super.getValue0(key).orElseThrow(AbsentValueException::new)));
+		} catch (ExecutionException | UncheckedExecutionException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof AbsentValueException) {
+				rememberAbsent(key);
+				return Optional.empty();
+			}
+			if (cause instanceof DatabaseException) throw (DatabaseException) cause;
+			throw new DatabaseException(cause);
+		}
+	}
 
-		return super.getValueOptional(key);
+	protected void rememberAbsent(@Nonnull String key) {
+		if (!cacheConfig.isCachingAbsent()) return;
+		absent.put(key, true);
+
+		// a value may have been set while the query was running
+		if (cache.getIfPresent(key) != null)
+			absent.invalidate(key);
 	}
 
 	@Override
 	public void setValue(@Nonnull String key, @Nullable V value) throws DatabaseException {
-		cache.put(key, value);
-		super.setValue(key, value);
+		if (value == null) {
+			cache.invalidate(key);
+			rememberAbsent(key);
+		} else {
+			cache.put(key, value);
+			absent.invalidate(key);
+		}
+
+		setValue0(key, value);
+	}
+
+	/**
+	 * Removes the cached value or absence, so it will be read from the database the next time it is requested.
+	 */
+	public void invalidate(@Nonnull String key) {
+		cache.invalidate(key);
+		absent.invalidate(key);
+	}
+
+	public void invalidateAll() {
+		cache.invalidateAll();
+		absent.invalidateAll();
+	}
+
+	@Nonnegative
+	public long getCacheSize() {
+		return cache.size();
+	}
+
+	/**
+	 * @return the hits, misses, evictions and load times of the cache.
+	 *         Reads of values which are not present in the database are counted as load exceptions.
+	 */
+	@Nonnull
+	public CacheStats getCacheStats() {
+		return cache.stats();
+	}
+
+	/**
+	 * @return the stats of the keys which are known to have no value, a hit saved a query
+	 */
+	@Nonnull
+	public CacheStats getAbsentCacheStats() {
+		return absent.stats();
+	}
+
+	@Nonnull
+	public AccessCacheConfig getCacheConfig() {
+		return cacheConfig;
+	}
+
+	/**
+	 * Thrown by the loader because the cache does not accept {@code null} values.
+	 */
+	private static final class AbsentValueException extends Exception {
+
+		public AbsentValueException() {
+			super(null, null, false, false);
+		}
+
 	}
 
 	@Nonnull
@@ -66,6 +164,11 @@ public class CachedDatabaseAccess<V> extends DirectDatabaseAccess<V> {
 		return new CachedDatabaseAccess<>(database, config, Propertyable::getString);
 	}
 
+	@Nonnull
+	public static CachedDatabaseAccess<String> newStringAccess(@Nonnull Database database, @Nonnull DatabaseAccessConfig config, @Nonnull AccessCacheConfig cacheConfig) {
+		return new CachedDatabaseAccess<>(database, config, cacheConfig, Propertyable::getString);
+	}
+
 	@Nonnull
 	public static CachedDatabaseAccess<Integer> newIntAccess(@Nonnull Database database, @Nonnull DatabaseAccessConfig config) {
 		return new CachedDatabaseAccess<>(database, config, Propertyable::getInt);
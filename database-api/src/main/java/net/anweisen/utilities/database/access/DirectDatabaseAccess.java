@@ -53,6 +53,10 @@ public class DirectDatabaseAccess<V> implements DatabaseAccess<V> {
 
 	@Override
 	public void setValue(@Nonnull String key, @Nullable V value) throws DatabaseException {
+		setValue0(key, value);
+	}
+
+	protected void setValue0(@Nonnull String key, @Nullable V value) throws DatabaseException {
 		database.insertOrUpdate(config.getTable())
 				.set(config.getValueField(), value)
 				.where(config.getKeyField(), key)
@@ -0,0 +1,63 @@
+package net.anweisen.utilities.database.access;
+
+import net.anweisen.utilities.common.config.Propertyable;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+/**
+ * Configures when a {@link WriteBehindDatabaseAccess} writes its pending values to the database.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.6
+ */
+public final class WriteBehindConfig {
+
+	public static final long DEFAULT_FLUSH_INTERVAL = 5 * 1000;
+	public static final int DEFAULT_FLUSH_THRESHOLD = 1000;
+
+	private final long flushInterval;
+	private final int flushThreshold;
+
+	public WriteBehindConfig() {
+		this(DEFAULT_FLUSH_INTERVAL, DEFAULT_FLUSH_THRESHOLD);
+	}
+
+	/**
+	 * @param flushInterval the time in milliseconds between two flushes
+	 * @param flushThreshold the amount of pending keys which triggers a flush before the interval elapsed
+	 */
+	public WriteBehindConfig(@Nonnegative long flushInterval, @Nonnegative int flushThreshold) {
+		if (flushInterval < 1) throw new IllegalArgumentException("Flush interval must be at least 1");
+		if (flushThreshold < 1) throw new IllegalArgumentException("Flush threshold must be at least 1");
+		this.flushInterval = flushInterval;
+		this.flushThreshold = flushThreshold;
+	}
+
+	/**
+	 * Reads the settings from the {@code write-behind} section of a config.
+	 */
+	public WriteBehindConfig(@Nonnull Propertyable config) {
+		this(
+				config.getLong("write-behind.flush-interval", DEFAULT_FLUSH_INTERVAL),
+				config.getInt("write-behind.flush-threshold", DEFAULT_FLUSH_THRESHOLD)
+		);
+	}
+
+	public long getFlushInterval() {
+		return flushInterval;
+	}
+
+	public int getFlushThreshold() {
+		return flushThreshold;
+	}
+
+	@Override
+	public String toString() {
+		return "WriteBehindConfig{" +
+				"flushInterval=" + flushInterval +
+				", flushThreshold=" + flushThreshold +
+				'}';
+	}
+
+}
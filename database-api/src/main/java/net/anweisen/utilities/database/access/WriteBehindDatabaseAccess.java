@@ -0,0 +1,158 @@
+package net.anweisen.utilities.database.access;
+
+import net.anweisen.utilities.common.collection.NamedThreadFactory;
+import net.anweisen.utilities.common.config.Document;
+import net.anweisen.utilities.common.function.ExceptionallyRunnable;
+import net.anweisen.utilities.common.logging.ILogger;
+import net.anweisen.utilities.database.Database;
+import net.anweisen.utilities.database.exceptions.DatabaseException;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+
+/**
+ * A {@link CachedDatabaseAccess} which does not write values synchronously.
+ * {@link #setValue(String, Object)} only updates the cache and marks the key as dirty,
+ * only the last value of a key is written when the pending values are flushed.
+ *
+ * Values are flushed every {@link WriteBehindConfig#getFlushInterval()} milliseconds, as soon as
+ * {@link WriteBehindConfig#getFlushThreshold()} keys are pending and right before the database {@link Database#disconnect() disconnects}.
+ * Values which could not be written stay pending and are written with the next flush.
+ *
+ * The scheduled flushes only keep a weak reference to the access.
+ * The database keeps the access until it disconnects, so pending values are not lost,
+ * call {@link #close()} to release an access which is no longer used before that.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.6
+ */
+public class WriteBehindDatabaseAccess<V> extends CachedDatabaseAccess<V> {
+
+	protected static final ILogger LOGGER = ILogger.forThisClass();
+	protected static final ThreadFactory THREAD_FACTORY = new NamedThreadFactory(threadId -> String.format("WriteBehindDatabaseAccess-%s", threadId));
+	protected static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(task -> {
+		Thread thread = THREAD_FACTORY.newThread(task);
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	protected final WriteBehindConfig writeConfig;
+	protected final Map<String, Optional<V>> pending = new ConcurrentHashMap<>();
+	protected final AtomicBoolean flushRequested = new AtomicBoolean();
+	protected final ExceptionallyRunnable disconnectHook = this::close;
+	protected final ScheduledFuture<?> flushTask;
+	protected volatile boolean closed;
+
+	public WriteBehindDatabaseAccess(@Nonnull Database database, @Nonnull DatabaseAccessConfig config, @Nonnull BiFunction<? super Document, ? super String, ? extends V> mapper) {
+		this(database, config, new AccessCacheConfig(), new WriteBehindConfig(), mapper);
+	}
+
+	public WriteBehindDatabaseAccess(@Nonnull Database database, @Nonnull DatabaseAccessConfig config, @Nonnull AccessCacheConfig cacheConfig,
+	                                 @Nonnull WriteBehindConfig writeConfig, @Nonnull BiFunction<? super Document, ? super String, ? extends V> mapper) {
+		super(database, config, cacheConfig, mapper);
+		this.writeConfig = writeConfig;
+		this.flushTask = scheduleFlush(this, writeConfig.getFlushInterval());
+		database.addDisconnectHook(disconnectHook);
+	}
+
+	@Nonnull
+	protected static ScheduledFuture<?> scheduleFlush(@Nonnull WriteBehindDatabaseAccess<?> access, long flushInterval) {
+		WeakReference<WriteBehindDatabaseAccess<?>> reference = new WeakReference<>(access);
+		ScheduledFuture<?>[] future = new ScheduledFuture<?>[1];
+		future[0] = EXECUTOR.scheduleWithFixedDelay(() -> {
+			WriteBehindDatabaseAccess<?> referent = reference.get();
+			if (referent == null) {
+				future[0].cancel(false);
+				return;
+			}
+
+			referent.flushSafely();
+		}, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+		return future[0];
+	}
+
+	@Nonnull
+	@Override
+	protected Optional<V> getValue0(@Nonnull String key) throws DatabaseException {
+		// the cached value may have been evicted before it was written
+		Optional<V> value = pending.get(key);
+		if (value != null) return value;
+
+		return super.getValue0(key);
+	}
+
+	@Override
+	protected void setValue0(@Nonnull String key, @Nullable V value) throws DatabaseException {
+		if (closed) {
+			super.setValue0(key, value);
+			return;
+		}
+
+		pending.put(key, Optional.ofNullable(value));
+		if (closed) {
+			// closed while the value was added, it would not be flushed anymore
+			flush();
+			return;
+		}
+
+		if (pending.size() >= writeConfig.getFlushThreshold() && flushRequested.compareAndSet(false, true))
+			EXECUTOR.execute(this::flushSafely);
+	}
+
+	/**
+	 * Writes all pending values to the database synchronously.
+	 *
+	 * @throws DatabaseException
+	 *         If a value could not be written, it and all values which were not written yet stay pending
+	 */
+	public void flush() throws DatabaseException {
+		synchronized (pending) {
+			flushRequested.set(false);
+			for (Entry<String, Optional<V>> entry : pending.entrySet()) {
+				super.setValue0(entry.getKey(), entry.getValue().orElse(null));
+				// the key stays pending if it was changed while it was written
+				pending.remove(entry.getKey(), entry.getValue());
+			}
+		}
+	}
+
+	protected void flushSafely() {
+		if (pending.isEmpty() || !database.isConnected()) return;
+		try {
+			flush();
+		} catch (Throwable ex) {
+			LOGGER.error("Could not flush {} pending values of {}", pending.size(), config.getTable(), ex);
+		}
+	}
+
+	/**
+	 * Stops the periodic flushes and writes all pending values.
+	 * Values set afterwards are written synchronously again.
+	 * This is called automatically when the database disconnects.
+	 */
+	public void close() throws DatabaseException {
+		closed = true;
+		flushTask.cancel(false);
+		database.removeDisconnectHook(disconnectHook);
+		flush();
+	}
+
+	@Nonnegative
+	public int getPendingWrites() {
+		return pending.size();
+	}
+
+	@Nonnull
+	public WriteBehindConfig getWriteConfig() {
+		return writeConfig;
+	}
+
+}
@@ -0,0 +1,56 @@
+package net.anweisen.utilities.database.action;
+
+import net.anweisen.utilities.common.config.Propertyable;
+import net.anweisen.utilities.database.Database;
+import net.anweisen.utilities.database.SpecificDatabase;
+import net.anweisen.utilities.database.exceptions.DatabaseException;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Map;
+
+/**
+ * Inserts multiple rows using as few round trips to the database as possible.
+ * Rows are only queued by {@link #add(Map)} and are inserted when the action is executed.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.6
+ *
+ * @see Database#insertBatch(String)
+ * @see SpecificDatabase#insertBatch()
+ */
+public interface DatabaseBatchInsertion extends DatabaseAction<Void> {
+
+	/**
+	 * Queues a row which will be inserted when this action is executed.
+	 *
+	 * @param values the values of the row mapped by their field
+	 */
+	@Nonnull
+	@CheckReturnValue
+	DatabaseBatchInsertion add(@Nonnull Map<String, ?> values);
+
+	@Nonnull
+	@CheckReturnValue
+	default DatabaseBatchInsertion add(@Nonnull Propertyable values) {
+		return add(values.values());
+	}
+
+	/**
+	 * @return the amount of queued rows
+	 */
+	@Nonnegative
+	int size();
+
+	/**
+	 * Inserts all queued rows.
+	 * Sql databases insert them in a single transaction, so either all rows or none are inserted.
+	 * MongoDB inserts them without a transaction, all rows except the failing ones stay inserted.
+	 */
+	@Nullable
+	@Override
+	Void execute() throws DatabaseException;
+
+}
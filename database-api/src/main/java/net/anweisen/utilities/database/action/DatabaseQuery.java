@@ -8,6 +8,7 @@ import net.anweisen.utilities.database.action.hierarchy.WhereAction;
 import net.anweisen.utilities.database.exceptions.DatabaseException;
 
 import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -20,6 +21,8 @@ import javax.annotation.Nullable;
  */
 public interface DatabaseQuery extends DatabaseAction<ExecutedQuery>, WhereAction, OrderedAction {
 
+	int DEFAULT_FETCH_SIZE = 1000;
+
 	@Nonnull
 	@CheckReturnValue
 	DatabaseQuery where(@Nonnull String field, @Nullable Object object);
@@ -53,4 +56,28 @@ public interface DatabaseQuery extends DatabaseAction<ExecutedQuery>, WhereActio
 	@CheckReturnValue
 	ExecutedQuery execute() throws DatabaseException;
 
+	/**
+	 * Executes this query synchronously, but other than {@link #execute()} the rows are not loaded into memory.
+	 * They will be fetched from the database while the returned query is iterated.
+	 *
+	 * @param fetchSize the amount of rows which should be fetched from the database at once, only a hint for the driver
+	 *
+	 * @return the opened query which has to be closed if it is not iterated completely
+	 *
+	 * @throws DatabaseException
+	 *         If a database error occurs
+	 */
+	@Nonnull
+	@CheckReturnValue
+	StreamedQuery executeStreaming(@Nonnegative int fetchSize) throws DatabaseException;
+
+	/**
+	 * @see #executeStreaming(int)
+	 */
+	@Nonnull
+	@CheckReturnValue
+	default StreamedQuery executeStreaming() throws DatabaseException {
+		return executeStreaming(DEFAULT_FETCH_SIZE);
+	}
+
 }
@@ -0,0 +1,48 @@
+package net.anweisen.utilities.database.action;
+
+import net.anweisen.utilities.common.config.Document;
+import net.anweisen.utilities.database.exceptions.DatabaseException;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * The result of a query which is read lazily from an open cursor.
+ * Other than a {@link ExecutedQuery} the rows are not held in memory, they can only be iterated once.
+ *
+ * The cursor is closed automatically when all rows were read.
+ * If the iteration is stopped before, this query has to be {@link #close() closed} manually,
+ * using a try-with-resources block is recommended.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.6
+ *
+ * @see DatabaseQuery#executeStreaming(int)
+ */
+public interface StreamedQuery extends Iterable<Document>, AutoCloseable {
+
+	/**
+	 * @return a sequential stream over the remaining rows, closing the stream closes this query
+	 */
+	@Nonnull
+	@CheckReturnValue
+	Stream<Document> all();
+
+	/**
+	 * @return an iterator over the remaining rows, this can only be called once
+	 *
+	 * @throws IllegalStateException
+	 *         If the rows are already being iterated
+	 */
+	@Nonnull
+	@Override
+	Iterator<Document> iterator();
+
+	boolean isClosed();
+
+	@Override
+	void close() throws DatabaseException;
+
+}
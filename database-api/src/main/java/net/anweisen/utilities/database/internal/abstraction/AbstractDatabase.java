@@ -1,5 +1,6 @@
 package net.anweisen.utilities.database.internal.abstraction;
 
+import net.anweisen.utilities.common.function.ExceptionallyRunnable;
 import net.anweisen.utilities.database.Database;
 import net.anweisen.utilities.database.DatabaseConfig;
 import net.anweisen.utilities.database.SQLColumn;
@@ -9,6 +10,8 @@ import net.anweisen.utilities.database.exceptions.DatabaseConnectionClosedExcept
 import net.anweisen.utilities.database.exceptions.DatabaseException;
 
 import javax.annotation.Nonnull;
+import java.util.Collection;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * @author anweisen | https://github.com/anweisen
@@ -17,6 +20,7 @@ import javax.annotation.Nonnull;
 public abstract class AbstractDatabase implements Database {
 
 	protected final DatabaseConfig config;
+	protected final Collection<ExceptionallyRunnable> disconnectHooks = new CopyOnWriteArrayList<>();
 
 	public AbstractDatabase(@Nonnull DatabaseConfig config) {
 		this.config = config;
@@ -37,6 +41,14 @@ public abstract class AbstractDatabase implements Database {
 	@Override
 	public void disconnect() throws DatabaseException {
 		checkConnection();
+		for (ExceptionallyRunnable hook : disconnectHooks) {
+			try {
+				hook.runExceptionally();
+			} catch (Exception ex) {
+				LOGGER.error("Could not execute disconnect hook of database (" + this.getClass().getSimpleName() + ")", ex);
+			}
+		}
+
 		try  {
 			disconnect0();
 		} catch (Exception ex) {
@@ -46,6 +58,16 @@ public abstract class AbstractDatabase implements Database {
 
 	protected abstract void disconnect0() throws Exception;
 
+	@Override
+	public void addDisconnectHook(@Nonnull ExceptionallyRunnable hook) {
+		disconnectHooks.add(hook);
+	}
+
+	@Override
+	public void removeDisconnectHook(@Nonnull ExceptionallyRunnable hook) {
+		disconnectHooks.remove(hook);
+	}
+
 	@Override
 	public boolean connectSafely() {
 		try {
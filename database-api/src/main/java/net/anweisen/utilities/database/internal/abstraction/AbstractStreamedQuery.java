@@ -0,0 +1,108 @@
+package net.anweisen.utilities.database.internal.abstraction;
+
+import net.anweisen.utilities.common.config.Document;
+import net.anweisen.utilities.database.action.StreamedQuery;
+import net.anweisen.utilities.database.exceptions.DatabaseException;
+import net.anweisen.utilities.database.exceptions.UnsignedDatabaseException;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.6
+ */
+public abstract class AbstractStreamedQuery implements StreamedQuery {
+
+	private boolean iterated;
+	private boolean closed;
+
+	/**
+	 * @return the next row or {@code null} if there are no rows left
+	 */
+	@Nullable
+	protected abstract Document fetchNext() throws Exception;
+
+	protected abstract void close0() throws Exception;
+
+	@Nonnull
+	@Override
+	public Stream<Document> all() {
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.NONNULL), false)
+				.onClose(this::closeUnsigned);
+	}
+
+	@Nonnull
+	@Override
+	public Iterator<Document> iterator() {
+		if (iterated) throw new IllegalStateException("StreamedQuery can only be iterated once");
+		iterated = true;
+
+		return new Iterator<Document>() {
+
+			private Document next;
+
+			@Override
+			public boolean hasNext() {
+				if (next != null) return true;
+				if (closed) return false;
+
+				try {
+					next = fetchNext();
+				} catch (Exception ex) {
+					closeUnsigned();
+					throw new UnsignedDatabaseException(new DatabaseException(ex));
+				}
+
+				if (next == null) closeUnsigned();
+				return next != null;
+			}
+
+			@Override
+			public Document next() {
+				if (!hasNext()) throw new NoSuchElementException();
+				Document current = next;
+				next = null;
+				return current;
+			}
+
+		};
+	}
+
+	@Override
+	public boolean isClosed() {
+		return closed;
+	}
+
+	@Override
+	public void close() throws DatabaseException {
+		if (closed) return;
+		closed = true;
+
+		try {
+			close0();
+		} catch (Exception ex) {
+			throw new DatabaseException(ex);
+		}
+	}
+
+	protected void closeUnsigned() {
+		try {
+			close();
+		} catch (DatabaseException ex) {
+			throw new UnsignedDatabaseException(ex);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return this.getClass().getSimpleName() + "[closed=" + closed + "]";
+	}
+
+}
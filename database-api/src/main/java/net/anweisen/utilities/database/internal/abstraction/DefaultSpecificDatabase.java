@@ -56,6 +56,12 @@ public class DefaultSpecificDatabase implements SpecificDatabase {
 		return parent.insert(name);
 	}
 
+	@Nonnull
+	@Override
+	public DatabaseBatchInsertion insertBatch() {
+		return parent.insertBatch(name);
+	}
+
 	@Nonnull
 	@Override
 	public DatabaseInsertionOrUpdate insertOrUpdate() {
@@ -14,6 +14,7 @@ import net.anweisen.utilities.database.exceptions.DatabaseException;
 import net.anweisen.utilities.database.internal.abstraction.AbstractDatabase;
 import net.anweisen.utilities.database.internal.mongodb.count.MongoDBCountEntries;
 import net.anweisen.utilities.database.internal.mongodb.deletion.MongoDBDeletion;
+import net.anweisen.utilities.database.internal.mongodb.insertion.MongoDBBatchInsertion;
 import net.anweisen.utilities.database.internal.mongodb.insertion.MongoDBInsertion;
 import net.anweisen.utilities.database.internal.mongodb.insertorupdate.MongoDBInsertionOrUpdate;
 import net.anweisen.utilities.database.internal.mongodb.list.MongoDBListTables;
@@ -122,6 +123,12 @@ public class MongoDBDatabase extends AbstractDatabase {
 		return new MongoDBInsertion(this, table, document);
 	}
 
+	@Nonnull
+	@Override
+	public DatabaseBatchInsertion insertBatch(@Nonnull String table) {
+		return new MongoDBBatchInsertion(this, table);
+	}
+
 	@Nonnull
 	@Override
 	public DatabaseInsertionOrUpdate insertOrUpdate(@Nonnull String table) {
@@ -0,0 +1,74 @@
+package net.anweisen.utilities.database.internal.mongodb.insertion;
+
+import com.mongodb.client.model.InsertManyOptions;
+import net.anweisen.utilities.common.misc.MongoUtils;
+import net.anweisen.utilities.database.action.DatabaseBatchInsertion;
+import net.anweisen.utilities.database.exceptions.DatabaseException;
+import net.anweisen.utilities.database.internal.mongodb.MongoDBDatabase;
+import org.bson.Document;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+
+/**
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.6
+ */
+public class MongoDBBatchInsertion implements DatabaseBatchInsertion {
+
+	protected final MongoDBDatabase database;
+	protected final String collection;
+	protected final List<Document> documents = new ArrayList<>();
+
+	public MongoDBBatchInsertion(@Nonnull MongoDBDatabase database, @Nonnull String collection) {
+		this.database = database;
+		this.collection = collection;
+	}
+
+	@Nonnull
+	@Override
+	public DatabaseBatchInsertion add(@Nonnull Map<String, ?> values) {
+		Document document = new Document();
+		for (Entry<String, ?> entry : values.entrySet()) {
+			document.put(entry.getKey(), MongoUtils.packObject(entry.getValue()));
+		}
+		documents.add(document);
+		return this;
+	}
+
+	@Override
+	public int size() {
+		return documents.size();
+	}
+
+	@Override
+	public Void execute() throws DatabaseException {
+		if (documents.isEmpty()) return null;
+
+		try {
+			// unordered, so the server may insert the documents in parallel and continue after a single failure
+			database.getCollection(collection).insertMany(documents, new InsertManyOptions().ordered(false));
+			return null;
+		} catch (Exception ex) {
+			throw new DatabaseException(ex);
+		}
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+		MongoDBBatchInsertion that = (MongoDBBatchInsertion) o;
+		return database.equals(that.database) && collection.equals(that.collection) && documents.equals(that.documents);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(database, collection, documents);
+	}
+
+}
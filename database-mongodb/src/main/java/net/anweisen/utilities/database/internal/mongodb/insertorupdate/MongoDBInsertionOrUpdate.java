@@ -1,19 +1,15 @@
 package net.anweisen.utilities.database.internal.mongodb.insertorupdate;
 
-import net.anweisen.utilities.common.misc.BsonUtils;
+import com.mongodb.client.model.UpdateOptions;
 import net.anweisen.utilities.database.action.DatabaseInsertion;
 import net.anweisen.utilities.database.action.DatabaseInsertionOrUpdate;
 import net.anweisen.utilities.database.action.DatabaseUpdate;
 import net.anweisen.utilities.database.exceptions.DatabaseException;
 import net.anweisen.utilities.database.internal.mongodb.MongoDBDatabase;
 import net.anweisen.utilities.database.internal.mongodb.update.MongoDBUpdate;
-import net.anweisen.utilities.database.internal.mongodb.where.MongoDBWhere;
-import org.bson.BsonDocument;
-import org.bson.Document;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.util.Map.Entry;
 
 /**
  * @author anweisen | https://github.com/anweisen
@@ -69,18 +65,9 @@ public class MongoDBInsertionOrUpdate extends MongoDBUpdate implements DatabaseI
 
 	@Override
 	public Void execute() throws DatabaseException {
-		if (database.query(collection, where).execute().isSet()) {
-			return super.execute();
-		} else {
-			Document document = new Document(values);
-			for (Entry<String, MongoDBWhere> entry : where.entrySet()) {
-				BsonDocument bson = BsonUtils.convertBsonToBsonDocument(entry.getValue().toBson());
-				document.putAll(bson);
-			}
-
-			database.insert(collection, document).execute();
-			return null;
-		}
+		// the server inserts the equality fields of the filter together with the values if nothing matched
+		execute(new UpdateOptions().upsert(true));
+		return null;
 	}
 
 	@Override
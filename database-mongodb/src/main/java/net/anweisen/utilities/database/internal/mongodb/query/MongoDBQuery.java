@@ -6,6 +6,7 @@ import net.anweisen.utilities.common.misc.MongoUtils;
 import net.anweisen.utilities.database.Order;
 import net.anweisen.utilities.database.action.DatabaseQuery;
 import net.anweisen.utilities.database.action.ExecutedQuery;
+import net.anweisen.utilities.database.action.StreamedQuery;
 import net.anweisen.utilities.database.exceptions.DatabaseException;
 import net.anweisen.utilities.database.internal.abstraction.DefaultExecutedQuery;
 import net.anweisen.utilities.database.internal.mongodb.MongoDBDatabase;
@@ -91,21 +92,35 @@ public class MongoDBQuery implements DatabaseQuery {
 		return this;
 	}
 
+	@Nonnull
+	protected FindIterable<Document> find() {
+		FindIterable<Document> iterable = database.getCollection(collection).find();
+		MongoUtils.applyWhere(iterable, where);
+		MongoUtils.applyOrder(iterable, orderBy, order);
+		return iterable;
+	}
+
 	@Nonnull
 	@Override
 	public ExecutedQuery execute() throws DatabaseException {
 		try {
-			FindIterable<Document> iterable = database.getCollection(collection).find();
-			MongoUtils.applyWhere(iterable, where);
-			MongoUtils.applyOrder(iterable, orderBy, order);
-
-			List<Document> documents = iterable.into(new ArrayList<>());
+			List<Document> documents = find().into(new ArrayList<>());
 			return createExecutedQuery(documents);
 		} catch (Exception ex) {
 			throw new DatabaseException(ex);
 		}
 	}
 
+	@Nonnull
+	@Override
+	public StreamedQuery executeStreaming(int fetchSize) throws DatabaseException {
+		try {
+			return new MongoDBStreamedQuery(find().batchSize(fetchSize).cursor());
+		} catch (Exception ex) {
+			throw new DatabaseException(ex);
+		}
+	}
+
 	@Nonnull
 	private ExecutedQuery createExecutedQuery(@Nonnull List<Document> documents) {
 		List<net.anweisen.utilities.common.config.Document> results = new ArrayList<>(documents.size());
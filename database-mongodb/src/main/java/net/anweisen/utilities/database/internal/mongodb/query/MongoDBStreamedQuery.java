@@ -0,0 +1,34 @@
+package net.anweisen.utilities.database.internal.mongodb.query;
+
+import com.mongodb.client.MongoCursor;
+import net.anweisen.utilities.common.config.Document;
+import net.anweisen.utilities.database.internal.abstraction.AbstractStreamedQuery;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.6
+ */
+public class MongoDBStreamedQuery extends AbstractStreamedQuery {
+
+	protected final MongoCursor<org.bson.Document> cursor;
+
+	public MongoDBStreamedQuery(@Nonnull MongoCursor<org.bson.Document> cursor) {
+		this.cursor = cursor;
+	}
+
+	@Nullable
+	@Override
+	protected Document fetchNext() {
+		if (!cursor.hasNext()) return null;
+		return new MongoDBResult(cursor.next());
+	}
+
+	@Override
+	protected void close0() {
+		cursor.close();
+	}
+
+}
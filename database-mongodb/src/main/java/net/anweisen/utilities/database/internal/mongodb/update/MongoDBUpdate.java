@@ -93,11 +93,15 @@ public class MongoDBUpdate implements DatabaseUpdate {
 
 	@Override
 	public Void execute() throws DatabaseException {
+		execute(new UpdateOptions());
+		return null;
+	}
+
+	protected void execute(@Nonnull UpdateOptions options) throws DatabaseException {
 		try {
 			MongoCollection<Document> collection = database.getCollection(this.collection);
 
 			Document filter = new Document();
-			UpdateOptions options = new UpdateOptions();
 
 			for (MongoDBWhere where : where.values()) {
 				Bson whereBson = where.toBson();
@@ -118,7 +122,6 @@ public class MongoDBUpdate implements DatabaseUpdate {
 			update.put("$set", newDocument);
 
 			collection.updateMany(filter, update, options);
-			return null;
 		} catch (Exception ex) {
 			throw new DatabaseException(ex);
 		}
@@ -1,24 +1,32 @@
 package net.anweisen.utilities.database.internal.sql.abstraction;
 
+import net.anweisen.utilities.common.function.ExceptionallyFunction;
 import net.anweisen.utilities.database.DatabaseConfig;
 import net.anweisen.utilities.database.SQLColumn;
 import net.anweisen.utilities.database.action.*;
 import net.anweisen.utilities.database.exceptions.DatabaseException;
+import net.anweisen.utilities.database.exceptions.DatabaseUnsupportedFeatureException;
 import net.anweisen.utilities.database.internal.abstraction.AbstractDatabase;
+import net.anweisen.utilities.database.internal.sql.abstraction.connection.PooledConnection;
+import net.anweisen.utilities.database.internal.sql.abstraction.connection.PreparedStatementCache;
+import net.anweisen.utilities.database.internal.sql.abstraction.connection.SQLConnectionPool;
+import net.anweisen.utilities.database.internal.sql.abstraction.connection.StatementCacheStats;
 import net.anweisen.utilities.database.internal.sql.abstraction.count.SQLCountEntries;
 import net.anweisen.utilities.database.internal.sql.abstraction.deletion.SQLDeletion;
+import net.anweisen.utilities.database.internal.sql.abstraction.insertion.SQLBatchInsertion;
 import net.anweisen.utilities.database.internal.sql.abstraction.insertion.SQLInsertion;
 import net.anweisen.utilities.database.internal.sql.abstraction.insertorupdate.SQLInsertionOrUpdate;
 import net.anweisen.utilities.database.internal.sql.abstraction.query.SQLQuery;
+import net.anweisen.utilities.database.internal.sql.abstraction.query.SQLStreamedQuery;
 import net.anweisen.utilities.database.internal.sql.abstraction.update.SQLUpdate;
 import net.anweisen.utilities.database.internal.sql.abstraction.where.SQLWhere;
 
+import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
-import java.sql.Connection;
-import java.sql.DriverManager;
-import java.sql.PreparedStatement;
-import java.sql.SQLException;
-import java.util.Map;
+import javax.annotation.Nullable;
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author anweisen | https://github.com/anweisen
@@ -26,7 +34,18 @@ import java.util.Map;
  */
 public abstract class AbstractSQLDatabase extends AbstractDatabase {
 
+	protected final StatementCacheStats statementCacheStats = new StatementCacheStats();
+	protected final Map<String, Boolean> uniqueKeys = new ConcurrentHashMap<>();
+
+	/**
+	 * Held while the shared connection of an unpooled database is used,
+	 * so the statements of other threads cannot become part of a {@link #executeBatch(CharSequence, Collection) batch transaction}
+	 */
+	protected final Object connectionLock = new Object();
+
 	protected Connection connection;
+	protected PreparedStatementCache statementCache;
+	protected SQLConnectionPool pool;
 
 	public AbstractSQLDatabase(@Nonnull DatabaseConfig config) {
 		super(config);
@@ -34,19 +53,53 @@ public abstract class AbstractSQLDatabase extends AbstractDatabase {
 
 	@Override
 	public void disconnect0() throws Exception {
+		if (pool != null) {
+			pool.close();
+			pool = null;
+			return;
+		}
+
+		if (statementCache != null) {
+			statementCache.clear();
+			statementCache = null;
+		}
+
 		connection.close();
 		connection = null;
 	}
 
 	@Override
 	public void connect0() throws Exception {
-		connection = DriverManager.getConnection(createUrl(), config.getUser(), config.getPassword());
+		if (config.isPooled()) {
+			SQLConnectionPool pool = new SQLConnectionPool(config.getPool(), () -> {
+				Connection connection = openConnection();
+				return new PooledConnection(connection, createStatementCache(connection));
+			});
+			pool.start();
+			this.pool = pool;
+			return;
+		}
+
+		connection = openConnection();
+		statementCache = createStatementCache(connection);
+	}
+
+	@Nullable
+	protected PreparedStatementCache createStatementCache(@Nonnull Connection connection) {
+		if (config.getStatementCacheSize() <= 0) return null;
+		return new PreparedStatementCache(connection, config.getStatementCacheSize(), statementCacheStats);
+	}
+
+	@Nonnull
+	protected Connection openConnection() throws SQLException {
+		return DriverManager.getConnection(createUrl(), config.getUser(), config.getPassword());
 	}
 
 	protected abstract String createUrl();
 
 	@Override
 	public boolean isConnected() {
+		if (pool != null) return !pool.isClosed();
 		try {
 			if (connection == null) return false;
 			connection.isClosed();
@@ -74,8 +127,8 @@ public abstract class AbstractSQLDatabase extends AbstractDatabase {
 			}
 			command.append(")");
 
-			PreparedStatement statement = prepare(command.toString());
-			statement.execute();
+			execute(command, PreparedStatement::execute);
+			uniqueKeys.keySet().removeIf(key -> key.startsWith(name.toLowerCase() + ":"));
 		} catch (Exception ex) {
 			throw new DatabaseException(ex);
 		}
@@ -115,6 +168,12 @@ public abstract class AbstractSQLDatabase extends AbstractDatabase {
 		return new SQLInsertion(this, table, values);
 	}
 
+	@Nonnull
+	@Override
+	public DatabaseBatchInsertion insertBatch(@Nonnull String table) {
+		return new SQLBatchInsertion(this, table);
+	}
+
 	@Nonnull
 	@Override
 	public DatabaseInsertionOrUpdate insertOrUpdate(@Nonnull String table) {
@@ -127,12 +186,257 @@ public abstract class AbstractSQLDatabase extends AbstractDatabase {
 		return new SQLDeletion(this, table);
 	}
 
+	/**
+	 * Prepares the given command on the connection of this database.
+	 * The statement has to be closed by the caller.
+	 *
+	 * @throws DatabaseUnsupportedFeatureException
+	 *         If this database uses a connection pool, use {@link #execute(CharSequence, Object[], ExceptionallyFunction)} instead
+	 *
+	 * @deprecated Use {@link #execute(CharSequence, Object[], ExceptionallyFunction)} which also works with pooled connections
+	 */
 	@Nonnull
+	@Deprecated
 	public PreparedStatement prepare(@Nonnull CharSequence command, @Nonnull Object... args) throws SQLException, DatabaseException {
 		checkConnection();
+		if (pool != null) throw new DatabaseUnsupportedFeatureException("Cannot prepare statements on a pooled database");
 		PreparedStatement statement = connection.prepareStatement(command.toString());
 		SQLHelper.fillParams(statement, args);
 		return statement;
 	}
 
+	/**
+	 * Prepares the given command, fills in the args and passes the statement to the given action.
+	 * If this database uses a connection pool, a connection is borrowed for the duration of the action.
+	 * The statement is closed or given back to the statement cache after the action was executed,
+	 * so any {@link java.sql.ResultSet} has to be read inside of the action.
+	 *
+	 * @return the result of the action
+	 */
+	@Nullable
+	public <R> R execute(@Nonnull CharSequence command, @Nonnull Object[] args, @Nonnull ExceptionallyFunction<? super PreparedStatement, ? extends R> action) throws Exception {
+		checkConnection();
+		if (pool == null) {
+			synchronized (connectionLock) {
+				return execute(connection, statementCache, command, args, action);
+			}
+		}
+
+		PooledConnection connection = pool.borrow();
+		try {
+			return execute(connection.getConnection(), connection.getStatementCache(), command, args, action);
+		} finally {
+			pool.release(connection);
+		}
+	}
+
+	@Nullable
+	public <R> R execute(@Nonnull CharSequence command, @Nonnull ExceptionallyFunction<? super PreparedStatement, ? extends R> action) throws Exception {
+		return execute(command, new Object[0], action);
+	}
+
+	@Nullable
+	protected <R> R execute(@Nonnull Connection connection, @Nullable PreparedStatementCache statementCache,
+	                        @Nonnull CharSequence command, @Nonnull Object[] args, @Nonnull ExceptionallyFunction<? super PreparedStatement, ? extends R> action) throws Exception {
+		if (statementCache == null) {
+			try (PreparedStatement statement = connection.prepareStatement(command.toString())) {
+				SQLHelper.fillParams(statement, args);
+				return action.applyExceptionally(statement);
+			}
+		}
+
+		// a cached statement must not be used by multiple threads at once, pooled connections are never shared anyway
+		String sql = command.toString();
+		synchronized (statementCache) {
+			PreparedStatement statement = statementCache.prepare(sql);
+			try {
+				SQLHelper.fillParams(statement, args);
+				return action.applyExceptionally(statement);
+			} catch (Exception ex) {
+				statementCache.invalidate(sql);
+				throw ex;
+			}
+		}
+	}
+
+	/**
+	 * Executes the given command once for every args of the batch using jdbc batching.
+	 * The whole batch is executed in a single transaction.
+	 * The shared connection of an unpooled database is locked for the duration of the transaction,
+	 * so statements of other threads cannot become part of it.
+	 *
+	 * @return the update counts of the single commands
+	 */
+	@Nonnull
+	public int[] executeBatch(@Nonnull CharSequence command, @Nonnull Collection<Object[]> batch) throws Exception {
+		return executeBatches(Collections.singletonMap(command, batch)).get(0);
+	}
+
+	/**
+	 * Executes every command like {@link #executeBatch(CharSequence, Collection)} does it, but all of them in one transaction on one connection.
+	 *
+	 * @return the update counts of the single commands of every batch, in the order of the given batches
+	 */
+	@Nonnull
+	public List<int[]> executeBatches(@Nonnull Map<? extends CharSequence, ? extends Collection<Object[]>> batches) throws Exception {
+		checkConnection();
+		if (pool == null) {
+			synchronized (connectionLock) {
+				return executeBatches(connection, statementCache, batches);
+			}
+		}
+
+		PooledConnection connection = pool.borrow();
+		try {
+			return executeBatches(connection.getConnection(), connection.getStatementCache(), batches);
+		} finally {
+			pool.release(connection);
+		}
+	}
+
+	@Nonnull
+	protected List<int[]> executeBatches(@Nonnull Connection connection, @Nullable PreparedStatementCache statementCache,
+	                                     @Nonnull Map<? extends CharSequence, ? extends Collection<Object[]>> batches) throws Exception {
+		boolean autoCommit = connection.getAutoCommit();
+		connection.setAutoCommit(false);
+		try {
+			List<int[]> result = new ArrayList<>(batches.size());
+			for (Map.Entry<? extends CharSequence, ? extends Collection<Object[]>> entry : batches.entrySet())
+				result.add(execute(connection, statementCache, entry.getKey(), new Object[0], statement -> executeBatch(statement, entry.getValue())));
+			connection.commit();
+			return result;
+		} catch (Exception ex) {
+			connection.rollback();
+			throw ex;
+		} finally {
+			connection.setAutoCommit(autoCommit);
+		}
+	}
+
+	/**
+	 * Checks whether the given columns exactly form the primary key or a unique index of the given table.
+	 * Only then a conflict on these columns can be resolved by the database itself, see {@link SQLInsertionOrUpdate}.
+	 * The result is cached per table and columns, because the metadata lookup is comparatively expensive.
+	 */
+	public boolean isUniqueKey(@Nonnull String table, @Nonnull Collection<String> columns) throws Exception {
+		Set<String> expected = new TreeSet<>();
+		for (String column : columns)
+			expected.add(column.toLowerCase());
+
+		String key = table.toLowerCase() + ":" + expected;
+		Boolean cached = uniqueKeys.get(key);
+		if (cached != null) return cached;
+
+		boolean unique = withConnection(connection -> readUniqueKeys(connection, table).contains(expected));
+		uniqueKeys.put(key, unique);
+		return unique;
+	}
+
+	@Nonnull
+	protected Collection<Set<String>> readUniqueKeys(@Nonnull Connection connection, @Nonnull String table) throws SQLException {
+		DatabaseMetaData metaData = connection.getMetaData();
+		String catalog = connection.getCatalog();
+		Map<String, Set<String>> keys = new HashMap<>();
+
+		try (ResultSet result = metaData.getPrimaryKeys(catalog, null, table)) {
+			while (result.next()) {
+				keys.computeIfAbsent("", k -> new TreeSet<>()).add(result.getString("COLUMN_NAME").toLowerCase());
+			}
+		}
+		try (ResultSet result = metaData.getIndexInfo(catalog, null, table, true, false)) {
+			while (result.next()) {
+				String index = result.getString("INDEX_NAME");
+				String column = result.getString("COLUMN_NAME");
+				if (index == null || column == null) continue;
+				keys.computeIfAbsent("index:" + index, k -> new TreeSet<>()).add(column.toLowerCase());
+			}
+		}
+
+		return keys.values();
+	}
+
+	/**
+	 * Passes a connection to the given action.
+	 * If this database uses a connection pool, a connection is borrowed for the duration of the action.
+	 */
+	@Nullable
+	protected <R> R withConnection(@Nonnull ExceptionallyFunction<? super Connection, ? extends R> action) throws Exception {
+		checkConnection();
+		if (pool == null) {
+			synchronized (connectionLock) {
+				return action.applyExceptionally(connection);
+			}
+		}
+
+		PooledConnection connection = pool.borrow();
+		try {
+			return action.applyExceptionally(connection.getConnection());
+		} finally {
+			pool.release(connection);
+		}
+	}
+
+	@Nonnull
+	protected int[] executeBatch(@Nonnull PreparedStatement statement, @Nonnull Collection<Object[]> batch) throws SQLException {
+		for (Object[] args : batch) {
+			SQLHelper.fillParams(statement, args);
+			statement.addBatch();
+		}
+		return statement.executeBatch();
+	}
+
+	/**
+	 * Executes the given query and keeps the result open, so the rows can be read lazily.
+	 * If this database uses a connection pool, the connection stays borrowed until the returned query is closed.
+	 */
+	@Nonnull
+	public StreamedQuery executeStreaming(@Nonnull CharSequence command, @Nonnull Object[] args, @Nonnegative int fetchSize) throws Exception {
+		checkConnection();
+		SQLConnectionPool pool = this.pool;
+		if (pool == null) {
+			synchronized (connectionLock) {
+				return openCursor(connection, command, args, fetchSize, () -> {});
+			}
+		}
+
+		PooledConnection connection = pool.borrow();
+		try {
+			return openCursor(connection.getConnection(), command, args, fetchSize, () -> pool.release(connection));
+		} catch (Exception ex) {
+			pool.release(connection);
+			throw ex;
+		}
+	}
+
+	@Nonnull
+	protected StreamedQuery openCursor(@Nonnull Connection connection, @Nonnull CharSequence command, @Nonnull Object[] args,
+	                                   @Nonnegative int fetchSize, @Nonnull Runnable onClose) throws SQLException {
+		PreparedStatement statement = connection.prepareStatement(command.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+		try {
+			SQLHelper.fillParams(statement, args);
+			applyFetchSize(statement, fetchSize);
+			return new SQLStreamedQuery(statement, statement.executeQuery(), onClose);
+		} catch (SQLException | RuntimeException ex) {
+			statement.close();
+			throw ex;
+		}
+	}
+
+	/**
+	 * Configures how many rows the driver should fetch at once for a {@link #executeStreaming(CharSequence, Object[], int) streamed query}.
+	 */
+	protected void applyFetchSize(@Nonnull PreparedStatement statement, @Nonnegative int fetchSize) throws SQLException {
+		statement.setFetchSize(fetchSize);
+	}
+
+	@Nullable
+	public SQLConnectionPool getPool() {
+		return pool;
+	}
+
+	@Nonnull
+	public StatementCacheStats getStatementCacheStats() {
+		return statementCacheStats;
+	}
+
 }
\ No newline at end of file
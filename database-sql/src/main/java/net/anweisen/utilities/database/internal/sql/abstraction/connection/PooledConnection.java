@@ -0,0 +1,76 @@
+package net.anweisen.utilities.database.internal.sql.abstraction.connection;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * A connection which is managed by a {@link SQLConnectionPool}.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.6
+ */
+public class PooledConnection {
+
+	protected final Connection connection;
+	protected final PreparedStatementCache statementCache;
+	protected volatile long lastUsed;
+
+	public PooledConnection(@Nonnull Connection connection) {
+		this(connection, null);
+	}
+
+	public PooledConnection(@Nonnull Connection connection, @Nullable PreparedStatementCache statementCache) {
+		this.connection = connection;
+		this.statementCache = statementCache;
+		this.lastUsed = System.currentTimeMillis();
+	}
+
+	@Nonnull
+	public Connection getConnection() {
+		return connection;
+	}
+
+	/**
+	 * @return the statement cache of this connection or {@code null} if statement caching is disabled
+	 */
+	@Nullable
+	public PreparedStatementCache getStatementCache() {
+		return statementCache;
+	}
+
+	public long getLastUsed() {
+		return lastUsed;
+	}
+
+	public void touch() {
+		lastUsed = System.currentTimeMillis();
+	}
+
+	public boolean isClosed() {
+		try {
+			return connection.isClosed();
+		} catch (SQLException ex) {
+			return true;
+		}
+	}
+
+	public boolean isValid(int timeout) {
+		try {
+			return connection.isValid(timeout);
+		} catch (SQLException ex) {
+			return false;
+		}
+	}
+
+	public void close() throws SQLException {
+		connection.close();
+	}
+
+	@Override
+	public String toString() {
+		return "PooledConnection[lastUsed=" + lastUsed + "]";
+	}
+
+}
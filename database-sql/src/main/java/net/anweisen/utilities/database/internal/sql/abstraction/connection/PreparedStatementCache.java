@@ -0,0 +1,89 @@
+package net.anweisen.utilities.database.internal.sql.abstraction.connection;
+
+import net.anweisen.utilities.common.logging.ILogger;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * A least recently used cache of the {@link PreparedStatement prepared statements} of a single connection, keyed by their sql text.
+ * The cache is not thread safe, callers have to synchronize on it while the statement is used.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.6
+ */
+public class PreparedStatementCache {
+
+	protected static final ILogger LOGGER = ILogger.forThisClass();
+
+	protected final Connection connection;
+	protected final StatementCacheStats stats;
+	protected final Map<String, PreparedStatement> statements;
+
+	public PreparedStatementCache(@Nonnull Connection connection, @Nonnegative int size, @Nonnull StatementCacheStats stats) {
+		this.connection = connection;
+		this.stats = stats;
+		this.statements = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Entry<String, PreparedStatement> eldest) {
+				if (size() <= size) return false;
+				stats.recordEviction();
+				closeQuietly(eldest.getValue());
+				return true;
+			}
+		};
+	}
+
+	/**
+	 * Returns the cached statement for the given command or prepares a new one.
+	 * The parameters of a cached statement are cleared before it is returned.
+	 */
+	@Nonnull
+	public PreparedStatement prepare(@Nonnull String command) throws SQLException {
+		PreparedStatement statement = statements.get(command);
+		if (statement != null && !statement.isClosed()) {
+			stats.recordHit();
+			statement.clearParameters();
+			return statement;
+		}
+
+		stats.recordMiss();
+		statement = connection.prepareStatement(command);
+		statements.put(command, statement);
+		return statement;
+	}
+
+	/**
+	 * Removes and closes the statement of the given command,
+	 * used when the statement might be left in an unusable state.
+	 */
+	public void invalidate(@Nonnull String command) {
+		PreparedStatement statement = statements.remove(command);
+		if (statement != null)
+			closeQuietly(statement);
+	}
+
+	public void clear() {
+		statements.values().forEach(this::closeQuietly);
+		statements.clear();
+	}
+
+	public int size() {
+		return statements.size();
+	}
+
+	protected void closeQuietly(@Nonnull PreparedStatement statement) {
+		try {
+			statement.close();
+		} catch (SQLException ex) {
+			LOGGER.debug("Could not close cached statement: {}", ex.getMessage());
+		}
+	}
+
+}
@@ -0,0 +1,229 @@
+package net.anweisen.utilities.database.internal.sql.abstraction.connection;
+
+import net.anweisen.utilities.common.collection.NamedThreadFactory;
+import net.anweisen.utilities.common.function.ExceptionallySupplier;
+import net.anweisen.utilities.common.logging.ILogger;
+import net.anweisen.utilities.database.ConnectionPoolConfig;
+
+import javax.annotation.Nonnull;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.Iterator;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A simple pool of jdbc connections.
+ *
+ * Connections are handed out exclusively by {@link #borrow()} and have to be given back using {@link #release(PooledConnection)}.
+ * Idle connections are reused most recently used first, so rarely needed connections will run into the idle timeout and get closed,
+ * as long as there are more than {@link ConnectionPoolConfig#getMinSize()} connections open.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.6
+ */
+public class SQLConnectionPool {
+
+	protected static final ILogger LOGGER = ILogger.forThisClass();
+	protected static final ThreadFactory THREAD_FACTORY = new NamedThreadFactory(threadId -> String.format("SQLConnectionPool-%s", threadId));
+
+	protected final ConnectionPoolConfig config;
+	protected final ExceptionallySupplier<? extends PooledConnection> connectionFactory;
+	protected final BlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+	protected final AtomicInteger open = new AtomicInteger();
+	protected final Semaphore permits;
+	protected final ScheduledExecutorService evictor;
+	protected volatile boolean closed;
+
+	public SQLConnectionPool(@Nonnull ConnectionPoolConfig config, @Nonnull ExceptionallySupplier<? extends PooledConnection> connectionFactory) {
+		this.config = config;
+		this.connectionFactory = connectionFactory;
+		this.permits = new Semaphore(config.getMaxSize(), true);
+		this.evictor = Executors.newSingleThreadScheduledExecutor(task -> {
+			// the eviction must not keep the jvm alive if the database is never disconnected
+			Thread thread = THREAD_FACTORY.newThread(task);
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Opens the minimum amount of connections and starts evicting idle connections.
+	 *
+	 * @throws SQLException
+	 *         If one of the initial connections could not be established
+	 */
+	public void start() throws SQLException {
+		try {
+			fill();
+		} catch (SQLException ex) {
+			close();
+			throw ex;
+		}
+
+		long interval = Math.max(1000, config.getIdleTimeout() / 2);
+		evictor.scheduleWithFixedDelay(this::evictSafely, interval, interval, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Hands out a connection exclusively to the caller.
+	 * Waits at most {@link ConnectionPoolConfig#getBorrowTimeout()} milliseconds for a connection to become available.
+	 *
+	 * @throws SQLTimeoutException
+	 *         If no connection became available in time
+	 * @throws SQLException
+	 *         If the pool is closed or a new connection could not be established
+	 */
+	@Nonnull
+	public PooledConnection borrow() throws SQLException {
+		if (closed) throw new SQLException("Connection pool is closed");
+
+		try {
+			if (!permits.tryAcquire(config.getBorrowTimeout(), TimeUnit.MILLISECONDS))
+				throw new SQLTimeoutException("Timed out after " + config.getBorrowTimeout() + "ms waiting for a pooled connection");
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new SQLException("Interrupted while waiting for a pooled connection", ex);
+		}
+
+		try {
+			while (true) {
+				PooledConnection connection = idle.pollFirst();
+				if (connection == null) {
+					if (reserve()) return open();
+
+					// all connections are open but one is just being released or evicted
+					connection = idle.pollFirst(10, TimeUnit.MILLISECONDS);
+					if (connection == null) continue;
+				}
+
+				if (validate(connection)) return connection;
+				discard(connection);
+			}
+		} catch (SQLException | RuntimeException ex) {
+			permits.release();
+			throw ex;
+		} catch (InterruptedException ex) {
+			permits.release();
+			Thread.currentThread().interrupt();
+			throw new SQLException("Interrupted while waiting for a pooled connection", ex);
+		}
+	}
+
+	/**
+	 * Gives a connection obtained by {@link #borrow()} back to the pool.
+	 */
+	public void release(@Nonnull PooledConnection connection) {
+		try {
+			if (closed || connection.isClosed()) {
+				discard(connection);
+			} else {
+				connection.touch();
+				idle.offerFirst(connection);
+			}
+		} finally {
+			permits.release();
+		}
+	}
+
+	protected boolean validate(@Nonnull PooledConnection connection) {
+		if (!config.isValidateOnBorrow()) return !connection.isClosed();
+		return connection.isValid(config.getValidationTimeout());
+	}
+
+	protected boolean reserve() {
+		while (true) {
+			int current = open.get();
+			if (current >= config.getMaxSize()) return false;
+			if (open.compareAndSet(current, current + 1)) return true;
+		}
+	}
+
+	@Nonnull
+	protected PooledConnection open() throws SQLException {
+		try {
+			return connectionFactory.getExceptionally();
+		} catch (Exception ex) {
+			open.decrementAndGet();
+			if (ex instanceof SQLException) throw (SQLException) ex;
+			throw new SQLException(ex);
+		}
+	}
+
+	protected void discard(@Nonnull PooledConnection connection) {
+		open.decrementAndGet();
+		try {
+			connection.close();
+		} catch (SQLException ex) {
+			LOGGER.debug("Could not close pooled connection: {}", ex.getMessage());
+		}
+	}
+
+	protected void fill() throws SQLException {
+		while (!closed && open.get() < config.getMinSize() && reserve()) {
+			idle.offerLast(open());
+		}
+	}
+
+	protected void evict() throws SQLException {
+		long deadline = System.currentTimeMillis() - config.getIdleTimeout();
+		Iterator<PooledConnection> iterator = idle.descendingIterator();
+		while (iterator.hasNext() && open.get() > config.getMinSize()) {
+			PooledConnection connection = iterator.next();
+			if (connection.getLastUsed() > deadline) break;
+			if (idle.removeLastOccurrence(connection))
+				discard(connection);
+		}
+
+		fill();
+	}
+
+	protected void evictSafely() {
+		try {
+			evict();
+		} catch (Throwable ex) {
+			LOGGER.error("Could not evict idle connections", ex);
+		}
+	}
+
+	/**
+	 * Closes all idle connections and stops the eviction.
+	 * Connections which are currently borrowed will be closed as soon as they are released.
+	 */
+	public void close() {
+		closed = true;
+		evictor.shutdownNow();
+
+		PooledConnection connection;
+		while ((connection = idle.pollFirst()) != null) {
+			discard(connection);
+		}
+	}
+
+	public boolean isClosed() {
+		return closed;
+	}
+
+	public int getOpenConnections() {
+		return open.get();
+	}
+
+	public int getIdleConnections() {
+		return idle.size();
+	}
+
+	public int getActiveConnections() {
+		return config.getMaxSize() - permits.availablePermits();
+	}
+
+	@Nonnull
+	public ConnectionPoolConfig getConfig() {
+		return config;
+	}
+
+	@Override
+	public String toString() {
+		return "SQLConnectionPool[open=" + getOpenConnections() + ", idle=" + getIdleConnections() + ", active=" + getActiveConnections() + ", closed=" + closed + "]";
+	}
+
+}
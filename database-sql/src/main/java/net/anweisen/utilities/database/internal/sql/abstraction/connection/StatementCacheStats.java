@@ -0,0 +1,52 @@
+package net.anweisen.utilities.database.internal.sql.abstraction.connection;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the hits and misses of all {@link PreparedStatementCache statement caches} of a database.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.6
+ */
+public class StatementCacheStats {
+
+	protected final LongAdder hits = new LongAdder();
+	protected final LongAdder misses = new LongAdder();
+	protected final LongAdder evictions = new LongAdder();
+
+	public void recordHit() {
+		hits.increment();
+	}
+
+	public void recordMiss() {
+		misses.increment();
+	}
+
+	public void recordEviction() {
+		evictions.increment();
+	}
+
+	public long getHits() {
+		return hits.sum();
+	}
+
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	public long getEvictions() {
+		return evictions.sum();
+	}
+
+	public double getHitRate() {
+		long hits = getHits();
+		long requests = hits + getMisses();
+		return requests == 0 ? 1 : (double) hits / requests;
+	}
+
+	@Override
+	public String toString() {
+		return "StatementCacheStats[hits=" + getHits() + ", misses=" + getMisses() + ", evictions=" + getEvictions() + "]";
+	}
+
+}
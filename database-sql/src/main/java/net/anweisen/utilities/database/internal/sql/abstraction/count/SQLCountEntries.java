@@ -5,7 +5,6 @@ import net.anweisen.utilities.database.exceptions.DatabaseException;
 import net.anweisen.utilities.database.internal.sql.abstraction.AbstractSQLDatabase;
 
 import javax.annotation.Nonnull;
-import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.util.Objects;
 
@@ -27,17 +26,18 @@ public class SQLCountEntries implements DatabaseCountEntries {
 	@Override
 	public Long execute() throws DatabaseException {
 		try {
-			PreparedStatement statement = database.prepare("SELECT COUNT(*) FROM `" + table + "`");
-			ResultSet result = statement.executeQuery();
+			return database.execute("SELECT COUNT(*) FROM `" + table + "`", statement -> {
+				ResultSet result = statement.executeQuery();
 
-			if (!result.next()) {
-				result.close();
-				return 0L;
-			}
+				if (!result.next()) {
+					result.close();
+					return 0L;
+				}
 
-			long count = result.getLong(1);
-			result.close();
-			return count;
+				long count = result.getLong(1);
+				result.close();
+				return count;
+			});
 		} catch (Exception ex) {
 			throw new DatabaseException(ex);
 		}
@@ -10,7 +10,6 @@ import net.anweisen.utilities.database.internal.sql.abstraction.where.StringIgno
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.sql.PreparedStatement;
-import java.sql.SQLException;
 import java.util.*;
 import java.util.Map.Entry;
 
@@ -65,9 +64,8 @@ public class SQLDeletion implements DatabaseDeletion {
 	}
 
 	@Nonnull
-	protected PreparedStatement prepare() throws SQLException, DatabaseException {
+	protected String createCommand(@Nonnull List<Object> args) {
 		StringBuilder command = new StringBuilder();
-		List<Object> args = new ArrayList<>();
 
 		command.append("DELETE FROM ");
 		command.append(table);
@@ -84,14 +82,15 @@ public class SQLDeletion implements DatabaseDeletion {
 			}
 		}
 
-		return database.prepare(command.toString(),args.toArray());
+		return command.toString();
 	}
 
 	@Override
 	public Void execute() throws DatabaseException {
 		try {
-			PreparedStatement statement = prepare();
-			statement.execute();
+			List<Object> args = new ArrayList<>();
+			String command = createCommand(args);
+			database.execute(command, args.toArray(), PreparedStatement::execute);
 			return null;
 		} catch (Exception ex) {
 			throw new DatabaseException(ex);
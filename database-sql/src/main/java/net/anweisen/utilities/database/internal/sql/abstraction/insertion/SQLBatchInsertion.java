@@ -0,0 +1,111 @@
+package net.anweisen.utilities.database.internal.sql.abstraction.insertion;
+
+import net.anweisen.utilities.database.action.DatabaseBatchInsertion;
+import net.anweisen.utilities.database.exceptions.DatabaseException;
+import net.anweisen.utilities.database.internal.sql.abstraction.AbstractSQLDatabase;
+
+import javax.annotation.Nonnull;
+import java.util.*;
+import java.util.Map.Entry;
+
+/**
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.6
+ */
+public class SQLBatchInsertion implements DatabaseBatchInsertion {
+
+	protected final AbstractSQLDatabase database;
+	protected final String table;
+	protected final List<Map<String, ?>> rows = new ArrayList<>();
+
+	public SQLBatchInsertion(@Nonnull AbstractSQLDatabase database, @Nonnull String table) {
+		this.database = database;
+		this.table = table;
+	}
+
+	@Nonnull
+	@Override
+	public DatabaseBatchInsertion add(@Nonnull Map<String, ?> values) {
+		if (values.isEmpty()) throw new IllegalArgumentException("Cannot insert nothing");
+		// copied, so changes of the caller after adding do not change the row
+		rows.add(new HashMap<>(values));
+		return this;
+	}
+
+	@Override
+	public int size() {
+		return rows.size();
+	}
+
+	/**
+	 * Rows setting the same columns share one statement and are executed as one batch.
+	 */
+	@Nonnull
+	protected Map<List<String>, List<Object[]>> groupByColumns() {
+		Map<List<String>, List<Object[]>> batches = new LinkedHashMap<>();
+		for (Map<String, ?> row : rows) {
+			List<String> columns = new ArrayList<>(row.keySet());
+			Collections.sort(columns);
+
+			Object[] args = new Object[columns.size()];
+			for (int i = 0; i < args.length; i++) {
+				args[i] = row.get(columns.get(i));
+			}
+
+			batches.computeIfAbsent(columns, key -> new ArrayList<>()).add(args);
+		}
+		return batches;
+	}
+
+	@Nonnull
+	protected String createCommand(@Nonnull List<String> columns) {
+		StringBuilder command = new StringBuilder();
+
+		command.append("INSERT INTO ");
+		command.append(table);
+		command.append(" (");
+		for (int i = 0; i < columns.size(); i++) {
+			if (i > 0) command.append(", ");
+			command.append(columns.get(i));
+		}
+		command.append(") VALUES (");
+		for (int i = 0; i < columns.size(); i++) {
+			if (i > 0) command.append(", ");
+			command.append("?");
+		}
+		command.append(")");
+
+		return command.toString();
+	}
+
+	@Override
+	public Void execute() throws DatabaseException {
+		if (rows.isEmpty()) return null;
+
+		try {
+			// all groups are inserted in one transaction, so either all rows or none are inserted
+			Map<String, List<Object[]>> batches = new LinkedHashMap<>();
+			for (Entry<List<String>, List<Object[]>> entry : groupByColumns().entrySet()) {
+				batches.put(createCommand(entry.getKey()), entry.getValue());
+			}
+			database.executeBatches(batches);
+			return null;
+		} catch (Exception ex) {
+			throw new DatabaseException(ex);
+		}
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+		SQLBatchInsertion that = (SQLBatchInsertion) o;
+		return database.equals(that.database) && table.equals(that.table) && rows.equals(that.rows);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(database, table, rows);
+	}
+
+}
@@ -7,7 +7,6 @@ import net.anweisen.utilities.database.internal.sql.abstraction.AbstractSQLDatab
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.sql.PreparedStatement;
-import java.sql.SQLException;
 import java.util.*;
 
 /**
@@ -40,11 +39,10 @@ public class SQLInsertion implements DatabaseInsertion {
 	}
 
 	@Nonnull
-	protected PreparedStatement prepare() throws SQLException, DatabaseException {
+	protected String createCommand(@Nonnull List<Object> args) {
 		if (values.isEmpty()) throw new IllegalArgumentException("Cannot insert nothing");
 
 		StringBuilder command = new StringBuilder();
-		List<Object> args = new ArrayList<>(values.size());
 
 		command.append("INSERT INTO ");
 		command.append(table);
@@ -69,14 +67,15 @@ public class SQLInsertion implements DatabaseInsertion {
 		}
 		command.append(")");
 
-		return database.prepare(command.toString(), args.toArray());
+		return command.toString();
 	}
 
 	@Override
 	public Void execute() throws DatabaseException {
 		try {
-			PreparedStatement statement = prepare();
-			statement.execute();
+			List<Object> args = new ArrayList<>(values.size());
+			String command = createCommand(args);
+			database.execute(command, args.toArray(), PreparedStatement::execute);
 			return null;
 		} catch (Exception ex) {
 			throw new DatabaseException(ex);
@@ -6,15 +6,23 @@ import net.anweisen.utilities.database.action.DatabaseUpdate;
 import net.anweisen.utilities.database.exceptions.DatabaseException;
 import net.anweisen.utilities.database.internal.sql.abstraction.AbstractSQLDatabase;
 import net.anweisen.utilities.database.internal.sql.abstraction.update.SQLUpdate;
+import net.anweisen.utilities.database.internal.sql.abstraction.where.ObjectWhere;
 import net.anweisen.utilities.database.internal.sql.abstraction.where.SQLWhere;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.util.HashMap;
-import java.util.Map;
+import java.sql.PreparedStatement;
+import java.util.*;
 import java.util.Map.Entry;
 
 /**
+ * Updates the matching rows or inserts a new row if there are none.
+ *
+ * Dialects which support an upsert statement override {@link #createUpsertCommand(Map, List)}.
+ * Their single statement is used if all where conditions are equality checks on columns
+ * which form the primary key or a unique index of the table.
+ * Otherwise the rows are queried first and then updated or inserted, which takes two round trips and is not atomic.
+ *
  * @author anweisen | https://github.com/anweisen
  * @since 2.0
  */
@@ -68,6 +76,8 @@ public class SQLInsertionOrUpdate extends SQLUpdate implements DatabaseInsertion
 
 	@Override
 	public Void execute() throws DatabaseException {
+		if (executeUpsert()) return null;
+
 		if (database.query(table, where).execute().isSet()) {
 			return super.execute();
 		} else {
@@ -83,6 +93,92 @@ public class SQLInsertionOrUpdate extends SQLUpdate implements DatabaseInsertion
 		}
 	}
 
+	/**
+	 * @return {@code true} if the native upsert statement was executed, {@code false} if it is not applicable
+	 */
+	protected boolean executeUpsert() throws DatabaseException {
+		Map<String, Object> keys = getUpsertKeys();
+		if (keys == null || keys.isEmpty() || values.isEmpty()) return false;
+
+		try {
+			List<Object> args = new ArrayList<>();
+			String command = createUpsertCommand(keys, args);
+			if (command == null || !database.isUniqueKey(table, keys.keySet())) return false;
+
+			database.execute(command, args.toArray(), PreparedStatement::executeUpdate);
+			return true;
+		} catch (Exception ex) {
+			throw new DatabaseException(ex);
+		}
+	}
+
+	/**
+	 * @return the key columns and their values, or {@code null} if any where condition is not a plain equality check
+	 */
+	@Nullable
+	protected Map<String, Object> getUpsertKeys() {
+		Map<String, Object> keys = new LinkedHashMap<>();
+		for (SQLWhere where : where.values()) {
+			if (!(where instanceof ObjectWhere)) return null;
+			ObjectWhere objectWhere = (ObjectWhere) where;
+			if (!"=".equals(objectWhere.getComparator()) || objectWhere.getValue() == null) return null;
+			keys.put(objectWhere.getColumn(), objectWhere.getValue());
+		}
+		return keys;
+	}
+
+	/**
+	 * Creates a single statement which inserts the row or updates the values if the keys are already present.
+	 *
+	 * @return the command or {@code null} if the dialect does not support upserts
+	 */
+	@Nullable
+	protected String createUpsertCommand(@Nonnull Map<String, Object> keys, @Nonnull List<Object> args) {
+		return null;
+	}
+
+	/**
+	 * Appends {@code INSERT INTO table (columns) VALUES (?, ...)} for the keys and values,
+	 * the dialect specific conflict clause has to be appended afterwards.
+	 *
+	 * @return the value columns which are not part of the keys and should be updated on conflict
+	 */
+	@Nonnull
+	protected Collection<String> appendInsert(@Nonnull StringBuilder command, @Nonnull Map<String, Object> keys, @Nonnull List<Object> args) {
+		Map<String, Object> row = new LinkedHashMap<>(keys);
+		Collection<String> updated = new ArrayList<>();
+		for (Entry<String, Object> entry : values.entrySet()) {
+			if (keys.containsKey(entry.getKey())) continue;
+			row.put(entry.getKey(), entry.getValue());
+			updated.add(entry.getKey());
+		}
+
+		command.append("INSERT INTO ");
+		command.append(table);
+		command.append(" (");
+		{
+			int index = 0;
+			for (String column : row.keySet()) {
+				if (index > 0) command.append(", ");
+				command.append("`" + column + "`");
+				index++;
+			}
+		}
+		command.append(") VALUES (");
+		{
+			int index = 0;
+			for (Object value : row.values()) {
+				if (index > 0) command.append(", ");
+				command.append("?");
+				args.add(value);
+				index++;
+			}
+		}
+		command.append(")");
+
+		return updated;
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		return super.equals(o);
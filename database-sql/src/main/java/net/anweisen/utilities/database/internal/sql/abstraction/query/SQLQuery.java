@@ -4,6 +4,7 @@ import net.anweisen.utilities.common.config.Document;
 import net.anweisen.utilities.database.Order;
 import net.anweisen.utilities.database.action.DatabaseQuery;
 import net.anweisen.utilities.database.action.ExecutedQuery;
+import net.anweisen.utilities.database.action.StreamedQuery;
 import net.anweisen.utilities.database.exceptions.DatabaseException;
 import net.anweisen.utilities.database.internal.abstraction.DefaultExecutedQuery;
 import net.anweisen.utilities.database.internal.sql.abstraction.AbstractSQLDatabase;
@@ -13,9 +14,7 @@ import net.anweisen.utilities.database.internal.sql.abstraction.where.StringIgno
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.*;
 import java.util.Map.Entry;
@@ -97,9 +96,8 @@ public class SQLQuery implements DatabaseQuery {
 	}
 
 	@Nonnull
-	protected PreparedStatement prepare() throws SQLException, DatabaseException {
+	protected String createCommand(@Nonnull List<Object> args) {
 		StringBuilder command = new StringBuilder();
-		List<Object> args = new LinkedList<>();
 
 		command.append("SELECT ");
 		for (int i = 0; i < selection.length; i++) {
@@ -129,16 +127,28 @@ public class SQLQuery implements DatabaseQuery {
 			command.append(" ");
 		}
 
-		return database.prepare(command.toString(), args.toArray());
+		return command.toString();
 	}
 
 	@Nonnull
 	@Override
 	public ExecutedQuery execute() throws DatabaseException {
 		try {
-			PreparedStatement statement = prepare();
-			ResultSet result = statement.executeQuery();
-			return createExecutedQuery(result);
+			List<Object> args = new ArrayList<>();
+			String command = createCommand(args);
+			return database.execute(command, args.toArray(), statement -> createExecutedQuery(statement.executeQuery()));
+		} catch (Exception ex) {
+			throw new DatabaseException(ex);
+		}
+	}
+
+	@Nonnull
+	@Override
+	public StreamedQuery executeStreaming(int fetchSize) throws DatabaseException {
+		try {
+			List<Object> args = new ArrayList<>();
+			String command = createCommand(args);
+			return database.executeStreaming(command, args.toArray(), fetchSize);
 		} catch (Exception ex) {
 			throw new DatabaseException(ex);
 		}
@@ -147,15 +157,9 @@ public class SQLQuery implements DatabaseQuery {
 	@Nonnull
 	private ExecutedQuery createExecutedQuery(@Nonnull ResultSet result) throws SQLException {
 		List<Document> results = new ArrayList<>();
-		ResultSetMetaData data = result.getMetaData();
+		String[] labels = SQLResult.readColumnLabels(result);
 		while (result.next()) {
-			Map<String, Object> map = new HashMap<>();
-			for (int i = 1; i <= data.getColumnCount(); i++) {
-				Object value = result.getObject(i);
-				map.put(data.getColumnLabel(i), value);
-			}
-			Document row = new SQLResult(map);
-			results.add(row);
+			results.add(SQLResult.readRow(result, labels));
 		}
 		result.close();
 
@@ -7,6 +7,10 @@ import net.anweisen.utilities.common.config.document.MapDocument;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -34,4 +38,28 @@ public final class SQLResult extends MapDocument {
 		return true;
 	}
 
+	@Nonnull
+	public static String[] readColumnLabels(@Nonnull ResultSet result) throws SQLException {
+		ResultSetMetaData data = result.getMetaData();
+		String[] labels = new String[data.getColumnCount()];
+		for (int i = 0; i < labels.length; i++) {
+			labels[i] = data.getColumnLabel(i + 1);
+		}
+		return labels;
+	}
+
+	/**
+	 * Reads the current row of the given result set.
+	 *
+	 * @param labels the column labels of the result set, as returned by {@link #readColumnLabels(ResultSet)}
+	 */
+	@Nonnull
+	public static SQLResult readRow(@Nonnull ResultSet result, @Nonnull String[] labels) throws SQLException {
+		Map<String, Object> map = new HashMap<>(labels.length * 4 / 3 + 1);
+		for (int i = 0; i < labels.length; i++) {
+			map.put(labels[i], result.getObject(i + 1));
+		}
+		return new SQLResult(map);
+	}
+
 }
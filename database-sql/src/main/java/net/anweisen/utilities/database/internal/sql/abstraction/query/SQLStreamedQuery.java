@@ -0,0 +1,53 @@
+package net.anweisen.utilities.database.internal.sql.abstraction.query;
+
+import net.anweisen.utilities.common.config.Document;
+import net.anweisen.utilities.database.internal.abstraction.AbstractStreamedQuery;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.6
+ */
+public class SQLStreamedQuery extends AbstractStreamedQuery {
+
+	protected final PreparedStatement statement;
+	protected final ResultSet result;
+	protected final String[] labels;
+	protected final Runnable onClose;
+
+	/**
+	 * @param onClose called after the result and the statement were closed, used to give back the connection
+	 */
+	public SQLStreamedQuery(@Nonnull PreparedStatement statement, @Nonnull ResultSet result, @Nonnull Runnable onClose) throws SQLException {
+		this.statement = statement;
+		this.result = result;
+		this.labels = SQLResult.readColumnLabels(result);
+		this.onClose = onClose;
+	}
+
+	@Nullable
+	@Override
+	protected Document fetchNext() throws SQLException {
+		if (!result.next()) return null;
+		return SQLResult.readRow(result, labels);
+	}
+
+	@Override
+	protected void close0() throws SQLException {
+		try {
+			result.close();
+		} finally {
+			try {
+				statement.close();
+			} finally {
+				onClose.run();
+			}
+		}
+	}
+
+}
@@ -10,7 +10,6 @@ import net.anweisen.utilities.database.internal.sql.abstraction.where.StringIgno
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.sql.PreparedStatement;
-import java.sql.SQLException;
 import java.util.*;
 import java.util.Map.Entry;
 
@@ -82,11 +81,10 @@ public class SQLUpdate implements DatabaseUpdate {
 	}
 
 	@Nonnull
-	protected PreparedStatement prepare() throws SQLException, DatabaseException {
+	protected String createCommand(@Nonnull List<Object> args) {
 		if (values.isEmpty()) throw new IllegalArgumentException("Can't update nothing");
 
 		StringBuilder command = new StringBuilder();
-		List<Object> args = new ArrayList<>();
 
 		command.append("UPDATE ");
 		command.append(table);
@@ -114,16 +112,17 @@ public class SQLUpdate implements DatabaseUpdate {
 			}
 		}
 
-		return database.prepare(command.toString(), args.toArray());
+		return command.toString();
 	}
 
 	@Override
 	public Void execute() throws DatabaseException {
 		try {
-			PreparedStatement statement = prepare();
-			statement.executeUpdate();
+			List<Object> args = new ArrayList<>();
+			String command = createCommand(args);
+			database.execute(command, args.toArray(), PreparedStatement::executeUpdate);
 			return null;
-		} catch (SQLException ex) {
+		} catch (Exception ex) {
 			throw new DatabaseException(ex);
 		}
 	}
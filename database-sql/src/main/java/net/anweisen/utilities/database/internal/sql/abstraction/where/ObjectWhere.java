@@ -20,6 +20,21 @@ public class ObjectWhere implements SQLWhere {
 		this.comparator = comparator;
 	}
 
+	@Nonnull
+	public String getColumn() {
+		return column;
+	}
+
+	@Nullable
+	public Object getValue() {
+		return value;
+	}
+
+	@Nonnull
+	public String getComparator() {
+		return comparator;
+	}
+
 	@Nonnull
 	@Override
 	public Object[] getArgs() {
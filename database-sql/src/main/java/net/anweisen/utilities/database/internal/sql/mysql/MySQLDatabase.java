@@ -1,16 +1,22 @@
 package net.anweisen.utilities.database.internal.sql.mysql;
 
 import net.anweisen.utilities.database.DatabaseConfig;
+import net.anweisen.utilities.database.action.DatabaseInsertionOrUpdate;
 import net.anweisen.utilities.database.action.DatabaseListTables;
 import net.anweisen.utilities.database.exceptions.DatabaseException;
 import net.anweisen.utilities.database.internal.sql.abstraction.AbstractSQLDatabase;
+import net.anweisen.utilities.database.internal.sql.mysql.insertorupdate.MySQLInsertionOrUpdate;
 import net.anweisen.utilities.database.internal.sql.mysql.list.MySQLListTables;
 
 import javax.annotation.Nonnull;
+import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * @author anweisen | https://github.com/anweisen
@@ -26,14 +32,51 @@ public class MySQLDatabase extends AbstractSQLDatabase {
 		}
 	}
 
+	protected static final Pattern VERSION_PATTERN = Pattern.compile("^(\\d+)\\.(\\d+)\\.(\\d+)");
+
+	protected boolean rowAliasSupported;
+
 	public MySQLDatabase(@Nonnull DatabaseConfig config) {
 		super(config);
 	}
 
+	@Override
+	public void connect0() throws Exception {
+		super.connect0();
+		rowAliasSupported = withConnection(connection -> isRowAliasSupported(connection.getMetaData()));
+	}
+
+	/**
+	 * Row aliases ({@code INSERT ... AS new ON DUPLICATE KEY UPDATE column = new.column}) are supported since MySQL 8.0.19,
+	 * MariaDB and older versions of MySQL only support the {@code VALUES(column)} function which is deprecated since MySQL 8.0.20.
+	 */
+	protected boolean isRowAliasSupported(@Nonnull DatabaseMetaData metaData) throws SQLException {
+		String version = metaData.getDatabaseProductVersion();
+		if (version.toLowerCase().contains("mariadb")) return false;
+
+		Matcher matcher = VERSION_PATTERN.matcher(version);
+		if (!matcher.find()) return false;
+		int major = Integer.parseInt(matcher.group(1)), minor = Integer.parseInt(matcher.group(2)), patch = Integer.parseInt(matcher.group(3));
+		return major > 8 || (major == 8 && (minor > 0 || patch >= 19));
+	}
+
+	public boolean supportsRowAlias() {
+		return rowAliasSupported;
+	}
+
 	@Nonnull
 	@Override
 	protected String createUrl() {
-		return "jdbc:mysql://" + config.getHost() + (config.isPortSet() ? ":" + config.getPort() : "") + "/" + config.getDatabase();
+		// lets the driver rewrite batched inserts into multi value inserts
+		// and fetch results in chunks of the fetch size through a server side cursor instead of buffering the whole result,
+		// unlike streaming with a fetch size of Integer.MIN_VALUE this allows other statements on the connection while the result is open
+		return "jdbc:mysql://" + config.getHost() + (config.isPortSet() ? ":" + config.getPort() : "") + "/" + config.getDatabase() + "?rewriteBatchedStatements=true&useCursorFetch=true";
+	}
+
+	@Nonnull
+	@Override
+	public DatabaseInsertionOrUpdate insertOrUpdate(@Nonnull String table) {
+		return new MySQLInsertionOrUpdate(this, table);
 	}
 
 	@Nonnull
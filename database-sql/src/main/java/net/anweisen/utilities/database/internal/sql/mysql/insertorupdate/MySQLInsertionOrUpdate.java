@@ -0,0 +1,46 @@
+package net.anweisen.utilities.database.internal.sql.mysql.insertorupdate;
+
+import net.anweisen.utilities.database.internal.sql.abstraction.insertorupdate.SQLInsertionOrUpdate;
+import net.anweisen.utilities.database.internal.sql.mysql.MySQLDatabase;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Uses {@code INSERT ... ON DUPLICATE KEY UPDATE} to insert or update the row in a single statement.
+ * The new values are referenced by a row alias if the server {@link MySQLDatabase#supportsRowAlias() supports it},
+ * otherwise by the {@code VALUES(column)} function.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.6
+ */
+public class MySQLInsertionOrUpdate extends SQLInsertionOrUpdate {
+
+	public MySQLInsertionOrUpdate(@Nonnull MySQLDatabase database, @Nonnull String table) {
+		super(database, table);
+	}
+
+	@Nullable
+	@Override
+	protected String createUpsertCommand(@Nonnull Map<String, Object> keys, @Nonnull List<Object> args) {
+		StringBuilder command = new StringBuilder();
+		Collection<String> updated = appendInsert(command, keys, args);
+		if (updated.isEmpty()) return null;
+
+		boolean rowAlias = ((MySQLDatabase) database).supportsRowAlias();
+		if (rowAlias) command.append(" AS new");
+		command.append(" ON DUPLICATE KEY UPDATE ");
+		int index = 0;
+		for (String column : updated) {
+			if (index > 0) command.append(", ");
+			command.append("`" + column + "` = " + (rowAlias ? "new.`" + column + "`" : "VALUES(`" + column + "`)"));
+			index++;
+		}
+
+		return command.toString();
+	}
+
+}
@@ -5,7 +5,6 @@ import net.anweisen.utilities.database.exceptions.DatabaseException;
 import net.anweisen.utilities.database.internal.sql.abstraction.AbstractSQLDatabase;
 
 import javax.annotation.Nonnull;
-import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.util.ArrayList;
 import java.util.List;
@@ -26,14 +25,15 @@ public class MySQLListTables implements DatabaseListTables {
 	@Override
 	public List<String> execute() throws DatabaseException {
 		try {
-			PreparedStatement statement = database.prepare("SHOW TABLES");
-			ResultSet result = statement.executeQuery();
-
-			List<String> tables = new ArrayList<>();
-			while (result.next()) {
-				tables.add(result.getString(1));
-			}
-			return tables;
+			return database.execute("SHOW TABLES", statement -> {
+				ResultSet result = statement.executeQuery();
+
+				List<String> tables = new ArrayList<>();
+				while (result.next()) {
+					tables.add(result.getString(1));
+				}
+				return tables;
+			});
 		} catch (Exception ex) {
 			throw new DatabaseException(ex);
 		}
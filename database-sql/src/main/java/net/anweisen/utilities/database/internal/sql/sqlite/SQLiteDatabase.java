@@ -2,9 +2,11 @@ package net.anweisen.utilities.database.internal.sql.sqlite;
 
 import net.anweisen.utilities.common.misc.FileUtils;
 import net.anweisen.utilities.database.DatabaseConfig;
+import net.anweisen.utilities.database.action.DatabaseInsertionOrUpdate;
 import net.anweisen.utilities.database.action.DatabaseListTables;
 import net.anweisen.utilities.database.exceptions.DatabaseException;
 import net.anweisen.utilities.database.internal.sql.abstraction.AbstractSQLDatabase;
+import net.anweisen.utilities.database.internal.sql.sqlite.insertorupdate.SQLiteInsertionOrUpdate;
 import net.anweisen.utilities.database.internal.sql.sqlite.list.SQLiteListTables;
 
 import javax.annotation.Nonnull;
@@ -52,6 +54,12 @@ public class SQLiteDatabase extends AbstractSQLDatabase {
 		return "jdbc:sqlite:" + file;
 	}
 
+	@Nonnull
+	@Override
+	public DatabaseInsertionOrUpdate insertOrUpdate(@Nonnull String table) {
+		return new SQLiteInsertionOrUpdate(this, table);
+	}
+
 	@Nonnull
 	@Override
 	public DatabaseListTables listTables() {
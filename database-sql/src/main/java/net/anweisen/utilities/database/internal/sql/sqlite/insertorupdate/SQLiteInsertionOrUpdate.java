@@ -0,0 +1,53 @@
+package net.anweisen.utilities.database.internal.sql.sqlite.insertorupdate;
+
+import net.anweisen.utilities.database.internal.sql.abstraction.AbstractSQLDatabase;
+import net.anweisen.utilities.database.internal.sql.abstraction.insertorupdate.SQLInsertionOrUpdate;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Uses {@code INSERT ... ON CONFLICT DO UPDATE} to insert or update the row in a single statement.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.6
+ */
+public class SQLiteInsertionOrUpdate extends SQLInsertionOrUpdate {
+
+	public SQLiteInsertionOrUpdate(@Nonnull AbstractSQLDatabase database, @Nonnull String table) {
+		super(database, table);
+	}
+
+	@Nullable
+	@Override
+	protected String createUpsertCommand(@Nonnull Map<String, Object> keys, @Nonnull List<Object> args) {
+		StringBuilder command = new StringBuilder();
+		Collection<String> updated = appendInsert(command, keys, args);
+		if (updated.isEmpty()) return null;
+
+		command.append(" ON CONFLICT (");
+		{
+			int index = 0;
+			for (String column : keys.keySet()) {
+				if (index > 0) command.append(", ");
+				command.append("`" + column + "`");
+				index++;
+			}
+		}
+		command.append(") DO UPDATE SET ");
+		{
+			int index = 0;
+			for (String column : updated) {
+				if (index > 0) command.append(", ");
+				command.append("`" + column + "` = excluded.`" + column + "`");
+				index++;
+			}
+		}
+
+		return command.toString();
+	}
+
+}
@@ -5,7 +5,6 @@ import net.anweisen.utilities.database.exceptions.DatabaseException;
 import net.anweisen.utilities.database.internal.sql.abstraction.AbstractSQLDatabase;
 
 import javax.annotation.Nonnull;
-import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.util.ArrayList;
 import java.util.List;
@@ -26,14 +25,15 @@ public class SQLiteListTables implements DatabaseListTables {
 	@Override
 	public List<String> execute() throws DatabaseException {
 		try {
-			PreparedStatement statement = database.prepare("SELECT name FROM sqlite_master WHERE type = 'table'");
-			ResultSet result = statement.executeQuery();
-
-			List<String> tables = new ArrayList<>();
-			while (result.next()) {
-				tables.add(result.getString(1));
-			}
-			return tables;
+			return database.execute("SELECT name FROM sqlite_master WHERE type = 'table'", statement -> {
+				ResultSet result = statement.executeQuery();
+
+				List<String> tables = new ArrayList<>();
+				while (result.next()) {
+					tables.add(result.getString(1));
+				}
+				return tables;
+			});
 		} catch (Exception ex) {
 			throw new DatabaseException(ex);
 		}
@@ -0,0 +1,89 @@
+package net.anweisen.utilities.jda.manager;
+
+import net.anweisen.utilities.common.logging.ILogger;
+import net.anweisen.utilities.jda.manager.impl.executor.BoundedCommandExecutor;
+import net.anweisen.utilities.jda.manager.impl.executor.GuildFairCommandExecutor;
+import net.anweisen.utilities.jda.manager.impl.executor.ShardedCommandExecutor;
+import net.anweisen.utilities.jda.manager.impl.executor.VirtualThreadCommandExecutor;
+import net.anweisen.utilities.jda.manager.process.CommandProcessResult;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.function.IntFunction;
+
+/**
+ * Executes the commands which are marked as async.
+ * Commands which are rejected because the executor is saturated are reported as {@link CommandProcessResult#REJECTED}.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.6
+ */
+public interface CommandExecutor {
+
+	ILogger LOGGER = ILogger.forThisClass();
+
+	int DEFAULT_THREADS = Math.max(16, Runtime.getRuntime().availableProcessors() * 4);
+	int DEFAULT_QUEUE_SIZE = 500;
+
+	/**
+	 * @param guildId the id of the guild the command was sent in, {@code 0} for private chats
+	 * @return whether the task was accepted, {@code false} if it was rejected
+	 */
+	boolean execute(long guildId, @Nonnull Runnable task);
+
+	/**
+	 * Stops accepting tasks, tasks which were already accepted will still be executed.
+	 */
+	void shutdown();
+
+	@Nonnull
+	static CommandExecutor newDefault() {
+		return bounded(DEFAULT_THREADS, DEFAULT_QUEUE_SIZE);
+	}
+
+	/**
+	 * @param threads the maximum amount of commands running at once
+	 * @param queueSize the maximum amount of commands waiting for a thread, further commands are rejected
+	 */
+	@Nonnull
+	static CommandExecutor bounded(@Nonnegative int threads, @Nonnegative int queueSize) {
+		return new BoundedCommandExecutor(threads, queueSize);
+	}
+
+	/**
+	 * Limits how many threads and queued commands a single guild can occupy, so one guild spamming commands cannot starve the others.
+	 *
+	 * @param threadsPerGuild the maximum amount of commands of a single guild running at once
+	 * @param queuePerGuild the maximum amount of commands of a single guild waiting for a thread
+	 */
+	@Nonnull
+	static CommandExecutor fair(@Nonnegative int threads, @Nonnegative int queueSize, @Nonnegative int threadsPerGuild, @Nonnegative int queuePerGuild) {
+		return new GuildFairCommandExecutor(threads, queueSize, threadsPerGuild, queuePerGuild);
+	}
+
+	/**
+	 * Runs every command in its own virtual thread.
+	 * Falls back to a {@link #bounded(int, int) bounded executor} if virtual threads are not supported by the running jvm.
+	 *
+	 * @param maxConcurrent the maximum amount of commands running at once, further commands are rejected
+	 */
+	@Nonnull
+	static CommandExecutor virtualThreads(@Nonnegative int maxConcurrent) {
+		if (VirtualThreadCommandExecutor.isSupported())
+			return new VirtualThreadCommandExecutor(maxConcurrent);
+
+		LOGGER.warn("Virtual threads are not supported by this jvm, falling back to a bounded executor");
+		return bounded(Math.min(maxConcurrent, DEFAULT_THREADS), DEFAULT_QUEUE_SIZE);
+	}
+
+	/**
+	 * Executes the commands of every shard on its own executor.
+	 *
+	 * @param executorFactory creates the executor of the shard with the given id
+	 */
+	@Nonnull
+	static CommandExecutor sharded(@Nonnegative int shardsTotal, @Nonnull IntFunction<? extends CommandExecutor> executorFactory) {
+		return new ShardedCommandExecutor(shardsTotal, executorFactory);
+	}
+
+}
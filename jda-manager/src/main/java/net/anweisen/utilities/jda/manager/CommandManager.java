@@ -6,13 +6,17 @@ import net.anweisen.utilities.jda.manager.hooks.registered.CommandResolver;
 import net.anweisen.utilities.jda.manager.hooks.registered.CommandTask;
 import net.anweisen.utilities.jda.manager.hooks.registered.RegisteredCommand;
 import net.anweisen.utilities.jda.manager.language.LanguageManager;
+import net.anweisen.utilities.jda.manager.process.CommandMetrics;
 import net.anweisen.utilities.jda.manager.process.CommandPreProcessInfo;
 import net.anweisen.utilities.jda.manager.process.CommandResultHandler;
 import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Message;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Collection;
+import java.util.Map;
 
 /**
  * @author anweisen | https://github.com/anweisen
@@ -48,6 +52,27 @@ public interface CommandManager {
 	@Nonnull
 	CommandManager setupSlashCommands(@Nonnull JDA jda);
 
+	@Nonnull
+	CommandExecutor getCommandExecutor();
+
+	/**
+	 * The previous executor is not shut down.
+	 */
+	@Nonnull
+	CommandManager setCommandExecutor(@Nonnull CommandExecutor executor);
+
+	/**
+	 * @return the metrics of the shard, created if the shard did not handle any message yet
+	 */
+	@Nonnull
+	CommandMetrics getMetrics(int shardId);
+
+	/**
+	 * @return the metrics of every shard which handled at least one message, by shard id
+	 */
+	@Nonnull
+	Map<Integer, CommandMetrics> getMetrics();
+
 	@Nonnull
 	PrefixProvider getPrefixProvider();
 
@@ -102,4 +127,14 @@ public interface CommandManager {
 
 	void handleCommand(@Nonnull CommandPreProcessInfo info);
 
+	/**
+	 * Checks whether the message may be a command, without creating any objects.
+	 * Messages for which this returns {@code false} do not have to be passed to {@link #handleCommand(CommandPreProcessInfo)}.
+	 *
+	 * @param member the member who sent the message, {@code null} if the message was not sent in a guild
+	 */
+	default boolean isPossibleCommand(@Nullable Member member, @Nonnull Message message) {
+		return true;
+	}
+
 }
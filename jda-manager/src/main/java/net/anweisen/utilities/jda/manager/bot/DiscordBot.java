@@ -7,6 +7,7 @@ import net.anweisen.utilities.common.function.ExceptionallyBiConsumer;
 import net.anweisen.utilities.common.logging.ILogger;
 import net.anweisen.utilities.database.Database;
 import net.anweisen.utilities.database.SQLColumn;
+import net.anweisen.utilities.jda.manager.CommandExecutor;
 import net.anweisen.utilities.jda.manager.CommandManager;
 import net.anweisen.utilities.jda.manager.bot.config.BotConfigCreator;
 import net.anweisen.utilities.jda.manager.bot.config.ConfigProvider;
@@ -113,7 +114,13 @@ public abstract class DiscordBot implements IDiscordBot {
 		commandManager = new DefaultCommandManager(builder.databaseConfig.getPrefixColumn() == null
 				? new ConstantPrefixProvider(config.getDefaultPrefix())
 				: new DatabasePrefixProvider(config.getDefaultPrefix(), database, builder.databaseConfig.getGuildTable(), builder.databaseConfig.getGuildKeyColumn(), builder.databaseConfig.getPrefixColumn())
-		).setUseEmbeds(builder.useEmbeds);
+		).setShardsTotal(config.getShards()).setUseEmbeds(builder.useEmbeds);
+
+		if (builder.commandExecutor != null) {
+			commandManager.setCommandExecutor(builder.commandExecutor);
+		} else if (builder.shardCommandExecutor != null && config.getShards() > 0) {
+			commandManager.setCommandExecutor(CommandExecutor.sharded(config.getShards(), builder.shardCommandExecutor));
+		}
 
 		if (builder.databaseConfig.getTeamRoleColumn() != null) {
 			commandManager.setTeamRoleManager(new DatabaseTeamRoleManager(database, builder.databaseConfig.getGuildTable(), builder.databaseConfig.getGuildKeyColumn(), builder.databaseConfig.getTeamRoleColumn()));
@@ -174,6 +181,13 @@ public abstract class DiscordBot implements IDiscordBot {
 
 		shardManager = shardManagerBuilder.build();
 
+		// the amount of shards is only known now if it is chosen by discord
+		if (config.getShards() <= 0 && commandManager instanceof DefaultCommandManager)
+			((DefaultCommandManager) commandManager).setShardsTotal(shardManager.getShardsTotal());
+		if (builder.commandExecutor == null && builder.shardCommandExecutor != null && config.getShards() <= 0) {
+			commandManager.setCommandExecutor(CommandExecutor.sharded(shardManager.getShardsTotal(), builder.shardCommandExecutor));
+		}
+
 		builder.shardManagerSettings.forEach(action -> action.accept(shardManager));
 
 		if (!builder.customSlashCommands.isEmpty())
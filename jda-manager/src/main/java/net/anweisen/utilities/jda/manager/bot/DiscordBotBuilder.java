@@ -5,6 +5,7 @@ import net.anweisen.utilities.common.logging.ILogger;
 import net.anweisen.utilities.common.misc.StringUtils;
 import net.anweisen.utilities.database.SQLColumn;
 import net.anweisen.utilities.database.SQLColumn.Type;
+import net.anweisen.utilities.jda.manager.CommandExecutor;
 import net.anweisen.utilities.jda.manager.arguments.ArgumentParser;
 import net.anweisen.utilities.jda.manager.hooks.option.CommandOptions;
 import net.anweisen.utilities.jda.manager.hooks.registered.CommandTask;
@@ -25,6 +26,7 @@ import javax.annotation.Nullable;
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.function.Supplier;
 
 /**
@@ -53,6 +55,8 @@ public class DiscordBotBuilder {
 	protected ChunkingFilter chunkingFilter = null;
 	protected GatewayIntent[] intents;
 	protected BotDatabaseConfig databaseConfig;
+	protected CommandExecutor commandExecutor;
+	protected IntFunction<? extends CommandExecutor> shardCommandExecutor;
 	protected boolean requireDatabase = false;
 	protected boolean useEmbeds = false;
 	protected boolean disableAutoSlashCommands = false;
@@ -261,6 +265,25 @@ public class DiscordBotBuilder {
 		return this;
 	}
 
+	@Nonnull
+	@CheckReturnValue
+	public DiscordBotBuilder commandExecutor(@Nonnull CommandExecutor executor) {
+		this.commandExecutor = executor;
+		return this;
+	}
+
+	/**
+	 * Gives every shard its own command executor, so one busy shard cannot delay the commands of the other shards.
+	 *
+	 * @param executorFactory creates the executor of the shard with the given id
+	 */
+	@Nonnull
+	@CheckReturnValue
+	public DiscordBotBuilder commandExecutorPerShard(@Nonnull IntFunction<? extends CommandExecutor> executorFactory) {
+		this.shardCommandExecutor = executorFactory;
+		return this;
+	}
+
 	@Nonnull
 	@CheckReturnValue
 	public DiscordBot buildNewBot() throws Exception {
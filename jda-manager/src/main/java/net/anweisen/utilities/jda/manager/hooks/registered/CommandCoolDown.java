@@ -1,5 +1,6 @@
 package net.anweisen.utilities.jda.manager.hooks.registered;
 
+import net.anweisen.utilities.common.concurrent.cache.ExpiringLongMap;
 import net.anweisen.utilities.jda.manager.hooks.option.CoolDownScope;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.User;
@@ -7,11 +8,14 @@ import net.dv8tion.jda.api.entities.User;
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
+ * Remembers until when a command is on cool down for a user, a guild or globally.
+ * Cool downs are stored by the snowflake ids, so no entities are retained, and expire lazily.
+ * Guild cool downs of commands used outside of a guild are stored per user instead.
+ *
  * @author anweisen | https://github.com/anweisen
  * @since 1.0
  */
@@ -19,14 +23,58 @@ public class CommandCoolDown {
 
 	private final CoolDownScope scope;
 	private final double cooldown;
+	private final long cooldownNanos;
 
-	private final Map<User, Long> userCoolDowns = new ConcurrentHashMap<>();
-	private final Map<Guild, Long> guildCoolDowns = new ConcurrentHashMap<>();
-	private final AtomicLong globalCoolDown = new AtomicLong();
+	private final ExpiringLongMap coolDowns = new ExpiringLongMap();
+	private final AtomicLong globalCoolDown = new AtomicLong(System.nanoTime());
 
 	public CommandCoolDown(@Nonnull CoolDownScope scope, @Nonnegative double cooldown) {
 		this.scope = scope;
 		this.cooldown = cooldown;
+		this.cooldownNanos = (long) (cooldown * TimeUnit.SECONDS.toNanos(1));
+	}
+
+	/**
+	 * Atomically checks whether the command is on cool down and puts it on cool down if it is not.
+	 * If multiple threads check at once, only one of them will see the command off cool down.
+	 *
+	 * @param guildId the id of the guild, {@code 0} if the command was not used in a guild
+	 * @return the remaining cool down in seconds, or {@code 0} if the command was not on cool down and has been put on cool down
+	 */
+	public double checkAndRenewCoolDown(long userId, long guildId) {
+		if (cooldownNanos == 0) return 0;
+
+		long now = System.nanoTime();
+		switch (scope) {
+			case USER:      return toSeconds(coolDowns.checkAndRenew(userId, now, cooldownNanos));
+			case GUILD:     return toSeconds(coolDowns.checkAndRenew(guildKey(userId, guildId), now, cooldownNanos));
+			case GLOBAL:    return toSeconds(checkAndRenewGlobal(now));
+			default:        throw new IllegalStateException("Unsupported cooldown scope " + scope);
+		}
+	}
+
+	public double checkAndRenewCoolDown(@Nonnull User user, @Nullable Guild guild) {
+		return checkAndRenewCoolDown(user.getIdLong(), guild == null ? 0 : guild.getIdLong());
+	}
+
+	private long checkAndRenewGlobal(long now) {
+		while (true) {
+			long deadline = globalCoolDown.get();
+			long remaining = deadline - now;
+			if (remaining > 0) return remaining;
+			if (globalCoolDown.compareAndSet(deadline, now + cooldownNanos)) return 0;
+		}
+	}
+
+	/**
+	 * Snowflake ids are unique across users and guilds, so user and guild cool downs cannot collide
+	 */
+	private static long guildKey(long userId, long guildId) {
+		return guildId == 0 ? userId : guildId;
+	}
+
+	private static double toSeconds(long nanos) {
+		return nanos / 1_000_000_000d;
 	}
 
 	public boolean isOnCoolDown(@Nonnull User user, @Nullable Guild guild) {
@@ -34,29 +82,49 @@ public class CommandCoolDown {
 	}
 
 	public double getCoolDown(@Nonnull User user, @Nullable Guild guild) {
-		if (cooldown == 0) return 0;
+		return getCoolDown(user.getIdLong(), guild == null ? 0 : guild.getIdLong());
+	}
+
+	/**
+	 * @param guildId the id of the guild, {@code 0} if the command was not used in a guild
+	 * @return the remaining cool down in seconds
+	 */
+	public double getCoolDown(long userId, long guildId) {
+		if (cooldownNanos == 0) return 0;
+
+		long now = System.nanoTime();
 		switch (scope) {
-			case USER:      return Math.max(userCoolDowns.getOrDefault(user, 0L) - System.currentTimeMillis(), 0) / 1000d;
-			case GUILD:     return Math.max(guildCoolDowns.getOrDefault(guild, 0L) - System.currentTimeMillis(), 0) / 1000d;
-			case GLOBAL:    return Math.max(globalCoolDown.get() - System.currentTimeMillis(), 0) / 1000d;
+			case USER:      return toSeconds(coolDowns.getRemaining(userId, now));
+			case GUILD:     return toSeconds(coolDowns.getRemaining(guildKey(userId, guildId), now));
+			case GLOBAL:    return toSeconds(Math.max(globalCoolDown.get() - now, 0));
 			default:        throw new IllegalStateException("Unsupported cooldown scope " + scope);
 		}
 	}
 
+	/**
+	 * Puts the command on cool down, even if it already is.
+	 * Use {@link #checkAndRenewCoolDown(long, long)} to check and renew the cool down atomically.
+	 */
 	public void renewCoolDown(@Nonnull User user, @Nullable Guild guild) {
-		if (cooldown == 0) return;
+		if (cooldownNanos == 0) return;
+
+		long now = System.nanoTime();
 		switch (scope) {
 			case USER:
-				userCoolDowns.put(user, System.currentTimeMillis() + (long) cooldown * 1000);
+				coolDowns.put(user.getIdLong(), now, now + cooldownNanos);
 				return;
 			case GUILD:
-				guildCoolDowns.put(guild, System.currentTimeMillis() + (long) cooldown * 1000);
+				coolDowns.put(guildKey(user.getIdLong(), guild == null ? 0 : guild.getIdLong()), now, now + cooldownNanos);
 				return;
 			case GLOBAL:
-				globalCoolDown.set(System.currentTimeMillis() + (long) cooldown * 1000);
+				globalCoolDown.set(now + cooldownNanos);
 				return;
 			default: throw new IllegalStateException("Unsupported cooldown scope " + scope);
 		}
 	}
 
+	public double getCoolDownSeconds() {
+		return cooldown;
+	}
+
 }
@@ -1,10 +1,15 @@
 package net.anweisen.utilities.jda.manager.hooks.registered;
 
+import net.anweisen.utilities.common.collection.WrappedException;
+import net.anweisen.utilities.common.misc.ReflectionUtils;
 import net.anweisen.utilities.jda.manager.hooks.InterfacedCommand;
 import net.anweisen.utilities.jda.manager.hooks.event.CommandArguments;
 import net.anweisen.utilities.jda.manager.hooks.event.CommandEvent;
 
 import javax.annotation.Nonnull;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 
@@ -22,12 +27,34 @@ public interface CommandTask {
 		return command::onCommand;
 	}
 
+	/**
+	 * Binds the method once, so executing the task does not use reflection.
+	 * Public methods are bound like a lambda, other methods are invoked through a {@link MethodHandle}.
+	 */
 	@Nonnull
 	static CommandTask of(@Nonnull Method method, @Nonnull Object holder) {
-		return (event, args) -> {
-			boolean staticMethod = Modifier.isStatic(method.getModifiers());
+		Object target = Modifier.isStatic(method.getModifiers()) ? null : holder;
+		CommandTask task = ReflectionUtils.bindFunctional(CommandTask.class, method, target);
+		if (task != null) return task;
+
+		MethodHandle handle;
+		try {
 			method.setAccessible(true);
-			method.invoke(staticMethod ? null : holder, event, args);
+			handle = MethodHandles.lookup().unreflect(method);
+		} catch (IllegalAccessException ex) {
+			throw new IllegalArgumentException("Cannot access command method " + method, ex);
+		}
+
+		if (target != null) handle = handle.bindTo(target);
+		MethodHandle invoker = handle.asType(MethodType.methodType(void.class, CommandEvent.class, CommandArguments.class));
+		return (event, args) -> {
+			try {
+				invoker.invokeExact(event, args);
+			} catch (Exception | Error ex) {
+				throw ex;
+			} catch (Throwable ex) {
+				throw new WrappedException(ex);
+			}
 		};
 	}
 	
@@ -0,0 +1,188 @@
+package net.anweisen.utilities.jda.manager.impl;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Splits the arguments of a command into words in a single pass, only remembering where the words start and end.
+ * Substrings are only created when a word is requested.
+ *
+ * Words are separated by whitespace, multiple whitespace characters count as one separator.
+ * A word starting with {@code "} reaches until the next {@code "} which is followed by whitespace or the end of the input,
+ * so quoted words may contain whitespace. The quotes are not part of the word. A quote which is never closed is treated as a normal character.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.6
+ */
+public final class ArgumentTokenizer {
+
+	private static final char QUOTE = '"';
+
+	private final String input;
+	private int[] starts;
+	private int[] ends;
+	private final BitSet quoted = new BitSet();
+	private int size;
+
+	private ArgumentTokenizer(@Nonnull String input, int capacity) {
+		this.input = input;
+		this.starts = new int[capacity];
+		this.ends = new int[capacity];
+	}
+
+	/**
+	 * @param offset the index of the input at which the arguments start
+	 */
+	@Nonnull
+	public static ArgumentTokenizer tokenize(@Nonnull String input, @Nonnegative int offset) {
+		ArgumentTokenizer tokenizer = new ArgumentTokenizer(input, 4);
+		int index = skipSpaces(input, offset);
+		while (index < input.length()) {
+			index = tokenizer.next(index);
+			index = skipSpaces(input, index);
+		}
+		return tokenizer;
+	}
+
+	/**
+	 * Counts the words like {@link #tokenize(String, int)} would split them, without remembering them.
+	 */
+	@Nonnegative
+	public static int count(@Nonnull String input, @Nonnegative int offset) {
+		int count = 0;
+		int index = skipSpaces(input, offset);
+		while (index < input.length()) {
+			int end = findEnd(input, index);
+			index = skipSpaces(input, end == -1 ? findUnquotedEnd(input, index) : end + 1);
+			count++;
+		}
+		return count;
+	}
+
+	private int next(int index) {
+		int quoteEnd = findEnd(input, index);
+		if (quoteEnd != -1) {
+			quoted.set(size);
+			add(index + 1, quoteEnd);
+			return quoteEnd + 1;
+		}
+
+		int end = findUnquotedEnd(input, index);
+		add(index, end);
+		return end;
+	}
+
+	/**
+	 * @return the index of the closing quote, or {@code -1} if the word is not quoted
+	 */
+	private static int findEnd(@Nonnull String input, int start) {
+		if (input.charAt(start) != QUOTE) return -1;
+		for (int i = start + 1; i < input.length(); i++) {
+			if (input.charAt(i) == QUOTE && (i + 1 == input.length() || input.charAt(i + 1) <= ' '))
+				return i;
+		}
+		return -1;
+	}
+
+	private static int findUnquotedEnd(@Nonnull String input, int start) {
+		int end = start;
+		while (end < input.length() && input.charAt(end) > ' ') end++;
+		return end;
+	}
+
+	private static int skipSpaces(@Nonnull String input, int index) {
+		while (index < input.length() && input.charAt(index) <= ' ') index++;
+		return index;
+	}
+
+	private static int trimEnd(@Nonnull String input, int end) {
+		while (end > 0 && input.charAt(end - 1) <= ' ') end--;
+		return end;
+	}
+
+	private void add(int start, int end) {
+		if (size == starts.length) {
+			starts = Arrays.copyOf(starts, size * 2);
+			ends = Arrays.copyOf(ends, size * 2);
+		}
+		starts[size] = start;
+		ends[size] = end;
+		size++;
+	}
+
+	@Nonnegative
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public int getStart(int index) {
+		checkIndex(index);
+		return starts[index];
+	}
+
+	public int getEnd(int index) {
+		checkIndex(index);
+		return ends[index];
+	}
+
+	@Nonnull
+	public String get(int index) {
+		checkIndex(index);
+		return input.substring(starts[index], ends[index]);
+	}
+
+	/**
+	 * @return the input from the word at the index to the end, with the quotes and whitespace of the input
+	 */
+	@Nonnull
+	public String getRemaining(int index) {
+		checkIndex(index);
+		int start = quoted.get(index) ? starts[index] - 1 : starts[index];
+		return input.substring(start, trimEnd(input, input.length()));
+	}
+
+	/**
+	 * @param from the index of the first word, inclusive
+	 * @param to the index of the last word, exclusive
+	 * @return the words joined by the separator
+	 */
+	@Nonnull
+	public String join(int from, int to, @Nonnull String separator) {
+		if (from == to) return "";
+		if (to - from == 1) return get(from);
+		checkIndex(from);
+		checkIndex(to - 1);
+
+		int length = separator.length() * (to - from - 1);
+		for (int i = from; i < to; i++)
+			length += ends[i] - starts[i];
+
+		StringBuilder builder = new StringBuilder(length);
+		for (int i = from; i < to; i++) {
+			if (i > from) builder.append(separator);
+			builder.append(input, starts[i], ends[i]);
+		}
+		return builder.toString();
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Tried to access argument at index " + index + " for length " + size);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder("ArgumentTokenizer[");
+		for (int i = 0; i < size; i++) {
+			if (i > 0) builder.append(", ");
+			builder.append('\'').append(input, starts[i], ends[i]).append('\'');
+		}
+		return builder.append(']').toString();
+	}
+
+}
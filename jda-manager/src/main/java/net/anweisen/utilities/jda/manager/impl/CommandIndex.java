@@ -0,0 +1,145 @@
+package net.anweisen.utilities.jda.manager.impl;
+
+import net.anweisen.utilities.jda.manager.hooks.registered.RegisteredCommand;
+
+import javax.annotation.Nonnull;
+import java.util.*;
+
+/**
+ * A prefix tree over the names of the registered commands, used by {@link DefaultCommandManager#findCommand(String, Collection)}.
+ * A lookup only walks the characters of the input, so it does not get slower with more commands or aliases.
+ *
+ * Every node knows the names ending in it and all commands having a name which passes through it,
+ * so both the names an input starts with and the names starting with an input can be collected without searching the tree.
+ * Names keep the order in which they were added, the first registered name wins if multiple names match.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.6
+ */
+public class CommandIndex {
+
+	public static final class Entry {
+
+		private final String name;
+		private final RegisteredCommand command;
+		private final int order;
+
+		public Entry(@Nonnull String name, @Nonnull RegisteredCommand command, int order) {
+			this.name = name;
+			this.command = command;
+			this.order = order;
+		}
+
+		@Nonnull
+		public String getName() {
+			return name;
+		}
+
+		@Nonnull
+		public RegisteredCommand getCommand() {
+			return command;
+		}
+
+		public int getOrder() {
+			return order;
+		}
+
+		@Override
+		public String toString() {
+			return "Entry[" + name + "]";
+		}
+
+	}
+
+	protected static final class Node {
+
+		private char[] keys = new char[0];
+		private Node[] children = new Node[0];
+		private final List<Entry> names = new ArrayList<>(1);
+		private final List<RegisteredCommand> commands = new ArrayList<>(1);
+
+		private Node child(char key) {
+			for (int i = 0; i < keys.length; i++) {
+				if (keys[i] == key) return children[i];
+			}
+			return null;
+		}
+
+		@Nonnull
+		private Node getOrCreateChild(char key) {
+			Node child = child(key);
+			if (child != null) return child;
+
+			child = new Node();
+			keys = Arrays.copyOf(keys, keys.length + 1);
+			children = Arrays.copyOf(children, children.length + 1);
+			keys[keys.length - 1] = key;
+			children[children.length - 1] = child;
+			return child;
+		}
+
+		private void addCommand(@Nonnull RegisteredCommand command) {
+			if (!commands.contains(command))
+				commands.add(command);
+		}
+
+	}
+
+	protected final Node root = new Node();
+	protected final Map<RegisteredCommand, Integer> commandOrder = new IdentityHashMap<>();
+	protected int names;
+
+	public void add(@Nonnull RegisteredCommand command) {
+		commandOrder.putIfAbsent(command, commandOrder.size());
+		for (String name : command.getOptions().getName()) {
+			Node node = root;
+			node.addCommand(command);
+			for (int i = 0; i < name.length(); i++) {
+				node = node.getOrCreateChild(name.charAt(i));
+				node.addCommand(command);
+			}
+			node.names.add(new Entry(name, command, names++));
+		}
+	}
+
+	/**
+	 * @return all names the input starts with, in the order they were added
+	 */
+	@Nonnull
+	public List<Entry> findPrefixes(@Nonnull String input) {
+		List<Entry> prefixes = new ArrayList<>(2);
+		Node node = root;
+		for (int i = 0; node != null; i++) {
+			prefixes.addAll(node.names);
+			if (i == input.length()) break;
+			node = node.child(input.charAt(i));
+		}
+
+		if (prefixes.size() > 1)
+			prefixes.sort(Comparator.comparingInt(Entry::getOrder));
+		return prefixes;
+	}
+
+	/**
+	 * Collects every command having a name which starts with the input or which the input starts with.
+	 * Every command is only collected once, in the order the commands were added.
+	 */
+	public void collectSimilar(@Nonnull String input, @Nonnull Collection<? super RegisteredCommand> target) {
+		Set<RegisteredCommand> similar = Collections.newSetFromMap(new IdentityHashMap<>());
+		Node node = root;
+		for (int i = 0; node != null; i++) {
+			for (Entry entry : node.names)
+				similar.add(entry.getCommand());
+			if (i == input.length()) {
+				similar.addAll(node.commands);
+				break;
+			}
+			node = node.child(input.charAt(i));
+		}
+
+		List<RegisteredCommand> sorted = new ArrayList<>(similar);
+		sorted.sort(Comparator.comparingInt(commandOrder::get));
+		target.addAll(sorted);
+	}
+
+}
@@ -1,12 +1,10 @@
 package net.anweisen.utilities.jda.manager.impl;
 
-import net.anweisen.utilities.common.collection.NamedThreadFactory;
 import net.anweisen.utilities.common.collection.WrappedException;
 import net.anweisen.utilities.common.collection.pair.Tuple;
 import net.anweisen.utilities.jda.manager.*;
 import net.anweisen.utilities.jda.manager.arguments.ArgumentParser;
 import net.anweisen.utilities.jda.manager.arguments.IllegalArgumentParserValueException;
-import net.anweisen.utilities.jda.manager.arguments.ParserOptions;
 import net.anweisen.utilities.jda.manager.hooks.event.CommandArguments;
 import net.anweisen.utilities.jda.manager.hooks.event.CommandEvent;
 import net.anweisen.utilities.jda.manager.hooks.option.CommandOptions;
@@ -23,19 +21,19 @@ import net.anweisen.utilities.jda.manager.impl.resolver.AnnotatedCommandResolver
 import net.anweisen.utilities.jda.manager.impl.resolver.InterfacedCommandResolver;
 import net.anweisen.utilities.jda.manager.impl.slashcommands.SlashCommandHelper;
 import net.anweisen.utilities.jda.manager.language.LanguageManager;
+import net.anweisen.utilities.jda.manager.process.CommandMetrics;
 import net.anweisen.utilities.jda.manager.process.CommandPreProcessInfo;
 import net.anweisen.utilities.jda.manager.process.CommandProcessResult;
 import net.anweisen.utilities.jda.manager.process.CommandResultHandler;
 import net.anweisen.utilities.jda.manager.process.CommandResultInfo;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.Permission;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Message;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.*;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.function.Consumer;
 
 /**
  * @author anweisen | https://github.com/anweisen
@@ -47,19 +45,27 @@ public class DefaultCommandManager implements CommandManager {
 
 	protected class Callback {
 
-		private final Consumer<? super CommandResultInfo> action;
+		private final CommandPreProcessInfo info;
+		private final long start = System.nanoTime();
 		private boolean called;
 
 		public Callback(@Nonnull CommandPreProcessInfo info) {
-			CommandEvent event = eventCreator.createEvent(DefaultCommandManager.this, info, new RegisteredCommand(new CommandOptions(), (e, a) -> {}, DefaultCommandManager.this), useEmbeds);
-			this.action = resultHandler == null ? result -> {} : result -> resultHandler.handle(DefaultCommandManager.this, event, result);
+			this.info = info;
 		}
 
-		public Object call(@Nonnull CommandResultInfo info) {
+		public Object call(@Nonnull CommandResultInfo result) {
 			if (called) return null;
 			called = true;
+
+			getMetrics(info.getShardId()).recordResult(result.getType(), System.nanoTime() - start);
+
+			// the event is only created if the result is actually handled
+			CommandResultHandler handler = resultHandler;
+			if (handler == null || !handler.isHandling(result.getType())) return CALLBACK_RESULT;
+
 			try {
-				action.accept(info);
+				CommandEvent event = eventCreator.createEvent(DefaultCommandManager.this, info, getResultCommand(), useEmbeds);
+				handler.handle(DefaultCommandManager.this, event, result);
 			} catch (Throwable ex) {
 				LOGGER.error("An error occurred while handling callback of command handling", ex);
 			}
@@ -92,16 +98,19 @@ public class DefaultCommandManager implements CommandManager {
 	}
 
 	protected final Collection<RegisteredCommand> commands = new ArrayList<>();
-	protected final ExecutorService executor = Executors.newCachedThreadPool(new NamedThreadFactory(threadId -> String.format("Command-Thread-%s", threadId)));
+	protected final CommandIndex index = new CommandIndex();
+	protected volatile CommandMetrics[] metrics = new CommandMetrics[1];
 	protected final Collection<CommandResolver> resolvers = new ArrayList<>(Arrays.asList(new AnnotatedCommandResolver(), new InterfacedCommandResolver()));
 	protected LanguageManager languageManager = new ConstantLanguageManager(new FallbackLanguage());
 	protected CommandResultHandler resultHandler = new DefaultResultHandler();
 	protected ParserContext parserContext = new DefaultParserContext();
+	protected CommandExecutor executor = CommandExecutor.newDefault();
 	protected EventCreator eventCreator = new DefaultEventCreator();
 	protected PrefixProvider prefixProvider;
 	protected TeamRoleManager teamRoleManager;
 	protected boolean reactToMentionPrefix = true;
 	protected boolean useEmbeds = false;
+	private RegisteredCommand resultCommand;
 
 	public DefaultCommandManager(@Nonnull PrefixProvider prefixProvider) {
 		this.prefixProvider = prefixProvider;
@@ -141,6 +150,18 @@ public class DefaultCommandManager implements CommandManager {
 
 	private void register0(@Nonnull RegisteredCommand command) {
 		commands.add(command);
+		index.add(command);
+	}
+
+	/**
+	 * @return the placeholder command the events passed to the {@link CommandResultHandler} are created for
+	 */
+	@Nonnull
+	protected RegisteredCommand getResultCommand() {
+		RegisteredCommand command = resultCommand;
+		if (command == null)
+			resultCommand = command = new RegisteredCommand(new CommandOptions(), (e, a) -> {}, this);
+		return command;
 	}
 
 	@Nonnull
@@ -150,37 +171,71 @@ public class DefaultCommandManager implements CommandManager {
 		return this;
 	}
 
+	/**
+	 * @param matchingName receives the commands with a similar name if no command matches
+	 */
 	@Nonnull
 	public Optional<Tuple<String, RegisteredCommand>> findCommand(@Nonnull String input, @Nonnull Collection<RegisteredCommand> matchingName) {
-		for (RegisteredCommand command : commands) {
-			for (String name : command.getOptions().getName()) {
-				boolean beginsWithName = input.startsWith(name);
-				if (!(beginsWithName || name.startsWith(input))) continue;
-				matchingName.add(command);
-				if (!beginsWithName) continue;
-				if (input.length() > name.length() && !input.substring(name.length()).startsWith(" ")) continue;
-				RequiredArgument[] arguments = command.getArguments();
-				String argumentInput = input.substring(name.length()).trim();
-				if (!isArgumentLengthAssignable(argumentInput, arguments)) continue;
-				return Optional.of(Tuple.of(name, command));
-			}
+		for (CommandIndex.Entry entry : index.findPrefixes(input)) {
+			String name = entry.getName();
+			if (input.length() > name.length() && input.charAt(name.length()) != ' ') continue;
+			if (!isArgumentLengthAssignable(input, name.length(), entry.getCommand().getArguments())) continue;
+			return Optional.of(Tuple.of(name, entry.getCommand()));
 		}
+
+		index.collectSimilar(input, matchingName);
 		return Optional.empty();
 	}
 
-	private boolean isArgumentLengthAssignable(@Nonnull String input, @Nonnull RequiredArgument[] arguments) {
-		if (input.isEmpty()) return arguments.length == 0;
+	private boolean isArgumentLengthAssignable(@Nonnull String input, int offset, @Nonnull RequiredArgument[] arguments) {
+		int words = ArgumentTokenizer.count(input, offset);
+		if (words == 0) return arguments.length == 0;
 		if (arguments.length == 0) return false;
-		String[] split = input.split(" ");
+
 		int index = 0;
 		for (RequiredArgument argument : arguments) {
-			if (argument.getLength() == 0 && split.length > (index == 0 ? 1 : index)) return true; // We want all following arguments
+			if (argument.getLength() == 0 && words > (index == 0 ? 1 : index)) return true; // We want all following arguments
 			index += argument.getLength();
-			if (index > split.length) return false;
+			if (index > words) return false;
 		}
 		return true;
 	}
 
+	@Override
+	public boolean isPossibleCommand(@Nullable Member member, @Nonnull Message message) {
+		// a message without prefix still has to be handled if the handler wants to know about it
+		CommandResultHandler handler = resultHandler;
+		if (handler != null && (handler.isHandling(CommandProcessResult.PREFIX_NOT_USED) || handler.isHandling(CommandProcessResult.INVALID_MESSAGE)
+				|| handler.isHandling(CommandProcessResult.SELF_REACTION)))
+			return true;
+
+		String raw = message.getContentRaw();
+		String prefix = member == null ? prefixProvider.getPrivatePrefix() : prefixProvider.getGuildPrefix(member.getGuild());
+		if (raw.startsWith(prefix)) return true;
+		return reactToMentionPrefix && getMentionLength(raw, message.getJDA().getSelfUser().getIdLong()) > 0;
+	}
+
+	/**
+	 * Checks whether the content starts with a mention of the given user ({@code <@!id>}) without building the mention.
+	 *
+	 * @return the length of the mention or {@code -1} if the content does not start with the mention
+	 */
+	protected static int getMentionLength(@Nonnull String content, long userId) {
+		if (!content.startsWith("<@!")) return -1;
+
+		long id = 0;
+		int index = 3;
+		for (; index < content.length() && index < 3 + 20; index++) {
+			char c = content.charAt(index);
+			if (c == '>') break;
+			if (c < '0' || c > '9') return -1;
+			id = id * 10 + (c - '0');
+		}
+
+		if (index == 3 || index >= content.length() || content.charAt(index) != '>') return -1;
+		return id == userId ? index + 1 : -1;
+	}
+
 	@Override
 	public void handleCommand(@Nonnull CommandPreProcessInfo info) {
 		Callback callback = new Callback(info);
@@ -207,11 +262,11 @@ public class DefaultCommandManager implements CommandManager {
 		String usedPrefix = prefix;
 		if (!raw.startsWith(prefix)) {
 			if (reactToMentionPrefix) {
-				String mentionPrefix = "<@!" + info.getMessage().getJDA().getSelfUser().getId() + ">";
-				if (raw.startsWith(mentionPrefix)) {
-					usedPrefix = mentionPrefix;
-					while (raw.substring(usedPrefix.length()).startsWith(" "))
-						usedPrefix += " ";
+				int mentionLength = getMentionLength(raw, info.getMessage().getJDA().getSelfUser().getIdLong());
+				if (mentionLength > 0) {
+					while (mentionLength < raw.length() && raw.charAt(mentionLength) == ' ')
+						mentionLength++;
+					usedPrefix = raw.substring(0, mentionLength);
 				} else {
 					return callback.call(CommandProcessResult.PREFIX_NOT_USED, prefix, null);
 				}
@@ -250,24 +305,25 @@ public class DefaultCommandManager implements CommandManager {
 
 		if (doCommonChecks(command, callback, prefix, commandName, info) == CALLBACK_RESULT)
 			return CALLBACK_RESULT;
-		if (command.getCoolDown().isOnCoolDown(info.getUser(), info.isFromGuild() ? info.getMember().getGuild() : null))
-			return callback.call(new CommandResultInfo(CommandProcessResult.COOLDOWN, command, commandName, prefix, command.getCoolDown().getCoolDown(info.getUser(), info.isFromGuild() ? info.getMember().getGuild() : null)));
+		long guildId = info.isFromGuild() ? info.getMember().getGuild().getIdLong() : 0;
+		double coolDown = command.getCoolDown().checkAndRenewCoolDown(info.getUser().getIdLong(), guildId);
+		if (coolDown > 0)
+			return callback.call(new CommandResultInfo(CommandProcessResult.COOLDOWN, command, commandName, prefix, coolDown));
 
-		command.getCoolDown().renewCoolDown(info.getUser(), info.isFromGuild() ? info.getMember().getGuild() : null);
-
-		String stripped = content.substring(commandName.length()).trim();
+		ArgumentTokenizer tokens = ArgumentTokenizer.tokenize(content, commandName.length());
 
 		CommandEvent event = eventCreator.createEvent(this, info, command, useEmbeds);
 		if (command.getOptions().getAutoSendTyping() && info.getMessage() != null)
 			info.getChannel().sendTyping().queue();
 
-		ArgumentParseResult parsed = parseArguments(command, stripped, event);
+		ArgumentParseResult parsed = parseArguments(command, tokens, event);
 		if (parsed.success == null)
 			return callback.call(new CommandResultInfo(CommandProcessResult.INCORRECT_ARGUMENTS, command, commandName, prefix, parsed.failure));
 
 		CommandArguments args = new CommandArgumentsImpl(parsed.success.getFirst(), parsed.success.getSecond());
 		if (command.getOptions().isAsync()) {
-			executor.submit(() -> execute0(command, callback, event, args, prefix, commandName));
+			if (!executor.execute(guildId, () -> execute0(command, callback, event, args, prefix, commandName)))
+				return callback.call(CommandProcessResult.REJECTED, command, prefix, commandName);
 		} else {
 			execute0(command, callback, event, args, prefix, commandName);
 		}
@@ -313,26 +369,25 @@ public class DefaultCommandManager implements CommandManager {
 	}
 
 	@Nonnull
-	private ArgumentParseResult parseArguments(@Nonnull RegisteredCommand command, @Nonnull String message, @Nonnull CommandEvent event) {
-		if (message.isEmpty()) return new ArgumentParseResult(new Tuple<>(new Class<?>[0], new Object[0]), null);
-		List<Class<?>> types = new ArrayList<>(command.getArguments().length);
-		List<Object> values = new ArrayList<>(command.getArguments().length);
-		String[] args = message.split(" ");
+	private ArgumentParseResult parseArguments(@Nonnull RegisteredCommand command, @Nonnull ArgumentTokenizer tokens, @Nonnull CommandEvent event) {
+		if (tokens.isEmpty()) return new ArgumentParseResult(new Tuple<>(new Class<?>[0], new Object[0]), null);
+		RequiredArgument[] arguments = command.getArguments();
+		Class<?>[] types = new Class<?>[arguments.length];
+		Object[] values = new Object[arguments.length];
 		int index = 0;
-		for (RequiredArgument argument : command.getArguments()) {
-			int collectArgs = argument.getLength() == 0 ? args.length - index : argument.getLength();
+		for (int argumentIndex = 0; argumentIndex < arguments.length; argumentIndex++) {
+			RequiredArgument argument = arguments[argumentIndex];
+			int collectArgs = argument.getLength() == 0 ? tokens.size() - index : argument.getLength();
+			if (index + collectArgs > tokens.size()) throw new IllegalArgumentException("Tried to access argument at index " + tokens.size() + " for length " + tokens.size());
 			ArgumentParser<?, ?> parser = argument.getParser();
-			ParserOptions options = parser.options();
-			StringBuilder builder = new StringBuilder();
-			for (int i = 0; i < collectArgs; i++, index++) {
-				if (index >= args.length) throw new IllegalArgumentException("Tried to access argument at index " + index + " for length " + args.length);
-				if (i > 0) builder.append(options.getMultiWordSeparator());
-				builder.append(args[index]);
-			}
+			// the last argument takes the rest of the message as it was written
+			String input = argument.getLength() == 0 && collectArgs > 0 ? tokens.getRemaining(index) : tokens.join(index, index + collectArgs, parser.options().getMultiWordSeparator());
+			index += collectArgs;
+
 			Object parsed = null;
 			try {
-				parsed = parser.parseCasted(event, argument.getInfoContainer(), builder.toString());
-				if (!parser.options().isNullable() && parsed == null) throw new NullPointerException("No value for input '" + builder + "'");
+				parsed = parser.parseCasted(event, argument.getInfoContainer(), input);
+				if (!parser.options().isNullable() && parsed == null) throw new NullPointerException("No value for input '" + input + "'");
 
 				if (parsed != null) {
 					if (!argument.getClassOfArgument().isInstance(parsed))
@@ -341,8 +396,8 @@ public class DefaultCommandManager implements CommandManager {
 						throw new IllegalArgumentException("Info container is not valid for the given input");
 				}
 
-				types.add(argument.getClassOfArgument());
-				values.add(parsed);
+				types[argumentIndex] = argument.getClassOfArgument();
+				values[argumentIndex] = parsed;
 			} catch (IllegalArgumentParserValueException ex) {
 				throw new WrappedException(ex); // Internal error
 			} catch (Exception ex) {
@@ -350,7 +405,7 @@ public class DefaultCommandManager implements CommandManager {
 				return new ArgumentParseResult(null, errorMessage); // Invalid usage
 			}
 		}
-		return new ArgumentParseResult(new Tuple<>(types.toArray(new Class[0]), values.toArray()), null);
+		return new ArgumentParseResult(new Tuple<>(types, values), null);
 	}
 
 	@Nonnull
@@ -366,6 +421,63 @@ public class DefaultCommandManager implements CommandManager {
 		return this;
 	}
 
+	@Nonnull
+	@Override
+	public CommandExecutor getCommandExecutor() {
+		return executor;
+	}
+
+	@Nonnull
+	@Override
+	public CommandManager setCommandExecutor(@Nonnull CommandExecutor executor) {
+		this.executor = executor;
+		return this;
+	}
+
+	/**
+	 * Looked up for every message, so the metrics are kept in an array indexed by the shard id instead of a map which would box the id.
+	 */
+	@Nonnull
+	@Override
+	public CommandMetrics getMetrics(int shardId) {
+		CommandMetrics[] metrics = this.metrics;
+		CommandMetrics shardMetrics = shardId >= 0 && shardId < metrics.length ? metrics[shardId] : null;
+		return shardMetrics != null ? shardMetrics : createMetrics(shardId);
+	}
+
+	@Nonnull
+	protected synchronized CommandMetrics createMetrics(int shardId) {
+		if (shardId < 0) throw new IllegalArgumentException("Shard id cannot be negative");
+		CommandMetrics[] metrics = this.metrics;
+		if (shardId < metrics.length && metrics[shardId] != null) return metrics[shardId];
+
+		// the array is copied, so readers only ever see fully initialized metrics
+		metrics = Arrays.copyOf(metrics, Math.max(metrics.length, shardId + 1));
+		CommandMetrics shardMetrics = metrics[shardId] = new CommandMetrics(shardId);
+		this.metrics = metrics;
+		return shardMetrics;
+	}
+
+	/**
+	 * Sizes the metrics for the given amount of shards up front, so they are not grown while the first messages are received.
+	 */
+	@Nonnull
+	public synchronized DefaultCommandManager setShardsTotal(int shardsTotal) {
+		if (shardsTotal > metrics.length)
+			metrics = Arrays.copyOf(metrics, shardsTotal);
+		return this;
+	}
+
+	@Nonnull
+	@Override
+	public Map<Integer, CommandMetrics> getMetrics() {
+		Map<Integer, CommandMetrics> result = new TreeMap<>();
+		for (CommandMetrics shardMetrics : metrics) {
+			if (shardMetrics != null) result.put(shardMetrics.getShardId(), shardMetrics);
+		}
+		return Collections.unmodifiableMap(result);
+	}
+
 	@Nonnull
 	@Override
 	public PrefixProvider getPrefixProvider() {
@@ -22,9 +22,17 @@ import java.util.List;
  */
 public class DefaultResultHandler implements CommandResultHandler {
 
+	/**
+	 * Handles all user mistakes and tells the user when the command was {@link CommandProcessResult#REJECTED rejected} because the bot is overloaded
+	 */
+	@Override
+	public boolean isHandling(@Nonnull CommandProcessResult result) {
+		return result.isUserMistake() || result == CommandProcessResult.REJECTED;
+	}
+
 	@Override
 	public void handle(@Nonnull CommandManager manager, @Nonnull CommandEvent event, @Nonnull CommandResultInfo result) {
-		if (!result.getType().isUserMistake()) return;
+		if (!isHandling(result.getType())) return;
 
 		String defaultMessageName = getDefaultMessageName(result);
 
@@ -0,0 +1,59 @@
+package net.anweisen.utilities.jda.manager.impl.executor;
+
+import net.anweisen.utilities.common.collection.NamedThreadFactory;
+import net.anweisen.utilities.jda.manager.CommandExecutor;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.concurrent.*;
+
+/**
+ * Executes commands on a fixed amount of threads.
+ * Commands which find all threads busy wait in a bounded queue, commands which find the queue full are rejected.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.6
+ */
+public class BoundedCommandExecutor implements CommandExecutor {
+
+	protected final ThreadPoolExecutor executor;
+
+	public BoundedCommandExecutor(@Nonnegative int threads, @Nonnegative int queueSize) {
+		if (threads < 1) throw new IllegalArgumentException("Threads must be at least 1");
+		if (queueSize < 0) throw new IllegalArgumentException("Queue size cannot be negative");
+		this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+				queueSize == 0 ? new SynchronousQueue<>() : new ArrayBlockingQueue<>(queueSize),
+				new NamedThreadFactory(threadId -> String.format("Command-Thread-%s", threadId)),
+				new ThreadPoolExecutor.AbortPolicy());
+		this.executor.allowCoreThreadTimeOut(true);
+	}
+
+	@Override
+	public boolean execute(long guildId, @Nonnull Runnable task) {
+		try {
+			executor.execute(task);
+			return true;
+		} catch (RejectedExecutionException ex) {
+			return false;
+		}
+	}
+
+	@Override
+	public void shutdown() {
+		executor.shutdown();
+	}
+
+	public int getActiveCount() {
+		return executor.getActiveCount();
+	}
+
+	public int getQueueSize() {
+		return executor.getQueue().size();
+	}
+
+	@Override
+	public String toString() {
+		return "BoundedCommandExecutor[threads=" + executor.getMaximumPoolSize() + ", active=" + getActiveCount() + ", queued=" + getQueueSize() + "]";
+	}
+
+}
@@ -0,0 +1,151 @@
+package net.anweisen.utilities.jda.manager.impl.executor;
+
+import net.anweisen.utilities.common.collection.NamedThreadFactory;
+import net.anweisen.utilities.jda.manager.CommandExecutor;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executes commands on a fixed amount of threads, while limiting the threads and queued commands of every single guild.
+ *
+ * Every guild has its own lane. A command only gets submitted to the threads if its guild has less than {@code threadsPerGuild} commands running,
+ * otherwise it waits in the lane of its guild. When a command finished, the next command of the same guild is submitted to the end of the shared queue,
+ * so busy guilds take turns with the other guilds instead of occupying all threads.
+ * On {@link #shutdown()} the threads are only shut down once all accepted commands, including those waiting in the lanes, finished.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.6
+ */
+public class GuildFairCommandExecutor implements CommandExecutor {
+
+	protected static final class Lane {
+
+		private final Queue<Runnable> queue = new ArrayDeque<>();
+		private int running;
+		private boolean removed;
+
+	}
+
+	protected final ThreadPoolExecutor executor;
+	protected final Map<Long, Lane> lanes = new ConcurrentHashMap<>();
+	protected final AtomicInteger pending = new AtomicInteger();
+	protected final int maxPending;
+	protected final int threadsPerGuild;
+	protected final int queuePerGuild;
+	protected volatile boolean shutdown;
+
+	public GuildFairCommandExecutor(@Nonnegative int threads, @Nonnegative int queueSize, @Nonnegative int threadsPerGuild, @Nonnegative int queuePerGuild) {
+		if (threads < 1) throw new IllegalArgumentException("Threads must be at least 1");
+		if (threadsPerGuild < 1) throw new IllegalArgumentException("Threads per guild must be at least 1");
+		if (queueSize < 0 || queuePerGuild < 0) throw new IllegalArgumentException("Queue size cannot be negative");
+		this.maxPending = threads + queueSize;
+		this.threadsPerGuild = threadsPerGuild;
+		this.queuePerGuild = queuePerGuild;
+		// the queue is bounded by maxPending, lanes only submit commands which were already counted
+		this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+				new NamedThreadFactory(threadId -> String.format("Command-Thread-%s", threadId)));
+		this.executor.allowCoreThreadTimeOut(true);
+	}
+
+	@Override
+	public boolean execute(long guildId, @Nonnull Runnable task) {
+		// counted before checking for a shutdown, so the threads cannot be shut down while this command is being accepted
+		if (pending.incrementAndGet() > maxPending || shutdown) {
+			finished();
+			return false;
+		}
+
+		while (true) {
+			Lane lane = lanes.computeIfAbsent(guildId, key -> new Lane());
+			synchronized (lane) {
+				// the lane became idle and was removed while we were waiting for it
+				if (lane.removed) continue;
+
+				if (lane.running < threadsPerGuild) {
+					lane.running++;
+				} else if (lane.queue.size() < queuePerGuild) {
+					lane.queue.add(task);
+					return true;
+				} else {
+					finished();
+					return false;
+				}
+			}
+
+			submit(guildId, lane, task);
+			return true;
+		}
+	}
+
+	protected void submit(long guildId, @Nonnull Lane lane, @Nonnull Runnable task) {
+		try {
+			executor.execute(() -> {
+				try {
+					task.run();
+				} finally {
+					finished();
+					next(guildId, lane);
+				}
+			});
+		} catch (RejectedExecutionException ex) {
+			LOGGER.warn("Dropped command of guild {} because the executor was shut down", guildId);
+			finished();
+			next(guildId, lane);
+		}
+	}
+
+	protected void next(long guildId, @Nonnull Lane lane) {
+		Runnable next;
+		synchronized (lane) {
+			next = lane.queue.poll();
+			if (next == null) {
+				if (--lane.running == 0) {
+					lane.removed = true;
+					lanes.remove(guildId, lane);
+				}
+				return;
+			}
+		}
+
+		submit(guildId, lane, next);
+	}
+
+	protected void finished() {
+		if (pending.decrementAndGet() == 0 && shutdown)
+			executor.shutdown();
+	}
+
+	/**
+	 * Stops accepting commands, the threads are shut down once the accepted commands finished.
+	 * The threads cannot be shut down right away, as commands waiting in a lane were not submitted to them yet.
+	 */
+	@Override
+	public void shutdown() {
+		shutdown = true;
+		if (pending.get() == 0)
+			executor.shutdown();
+	}
+
+	public int getActiveCount() {
+		return executor.getActiveCount();
+	}
+
+	/**
+	 * @return the amount of accepted commands which did not finish yet
+	 */
+	public int getPendingCount() {
+		return pending.get();
+	}
+
+	@Override
+	public String toString() {
+		return "GuildFairCommandExecutor[threads=" + executor.getMaximumPoolSize() + ", active=" + getActiveCount() + ", pending=" + getPendingCount() + ", guilds=" + lanes.size() + "]";
+	}
+
+}
@@ -0,0 +1,59 @@
+package net.anweisen.utilities.jda.manager.impl.executor;
+
+import net.anweisen.utilities.jda.manager.CommandExecutor;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.function.IntFunction;
+
+/**
+ * Gives every shard its own executor, so commands of one busy shard cannot occupy the threads or queue of the other shards.
+ * The shard of a guild is calculated like discord does, commands from private chats are executed by the executor of shard {@code 0}.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.6
+ */
+public class ShardedCommandExecutor implements CommandExecutor {
+
+	protected final CommandExecutor[] executors;
+
+	/**
+	 * @param executorFactory creates the executor of the shard with the given id
+	 */
+	public ShardedCommandExecutor(@Nonnegative int shardsTotal, @Nonnull IntFunction<? extends CommandExecutor> executorFactory) {
+		if (shardsTotal < 1) throw new IllegalArgumentException("Shards total must be at least 1");
+		this.executors = new CommandExecutor[shardsTotal];
+		for (int shardId = 0; shardId < shardsTotal; shardId++)
+			executors[shardId] = executorFactory.apply(shardId);
+	}
+
+	public static int getShardId(long guildId, int shardsTotal) {
+		return (int) ((guildId >>> 22) % shardsTotal);
+	}
+
+	@Override
+	public boolean execute(long guildId, @Nonnull Runnable task) {
+		return getExecutor(getShardId(guildId, executors.length)).execute(guildId, task);
+	}
+
+	@Nonnull
+	public CommandExecutor getExecutor(int shardId) {
+		return executors[shardId];
+	}
+
+	public int getShardsTotal() {
+		return executors.length;
+	}
+
+	@Override
+	public void shutdown() {
+		for (CommandExecutor executor : executors)
+			executor.shutdown();
+	}
+
+	@Override
+	public String toString() {
+		return "ShardedCommandExecutor[shards=" + executors.length + "]";
+	}
+
+}
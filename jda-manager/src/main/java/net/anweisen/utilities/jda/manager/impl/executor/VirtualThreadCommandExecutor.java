@@ -0,0 +1,96 @@
+package net.anweisen.utilities.jda.manager.impl.executor;
+
+import net.anweisen.utilities.jda.manager.CommandExecutor;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.concurrent.*;
+
+/**
+ * Executes every command in its own virtual thread, so blocking commands do not occupy platform threads.
+ * The amount of commands running at once is still limited, commands exceeding the limit are rejected.
+ *
+ * Virtual threads are looked up reflectively, because this library is compiled for java 8.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.6
+ */
+public class VirtualThreadCommandExecutor implements CommandExecutor {
+
+	protected final ExecutorService executor;
+	protected final Semaphore permits;
+	protected final int maxConcurrent;
+
+	/**
+	 * @throws UnsupportedOperationException
+	 *         If the running jvm does not support virtual threads
+	 */
+	public VirtualThreadCommandExecutor(@Nonnegative int maxConcurrent) {
+		if (maxConcurrent < 1) throw new IllegalArgumentException("Max concurrent commands must be at least 1");
+		this.executor = createExecutor();
+		this.permits = new Semaphore(maxConcurrent);
+		this.maxConcurrent = maxConcurrent;
+	}
+
+	/**
+	 * Actually creates a virtual thread builder, as {@code Thread.ofVirtual()} also exists on java 19 and 20
+	 * but throws an {@link UnsupportedOperationException} there unless preview features are enabled.
+	 */
+	public static boolean isSupported() {
+		try {
+			Thread.class.getMethod("ofVirtual").invoke(null);
+			return true;
+		} catch (ReflectiveOperationException | RuntimeException ex) {
+			return false;
+		}
+	}
+
+	@Nonnull
+	protected static ExecutorService createExecutor() {
+		try {
+			Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+			Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+			builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, "Command-VirtualThread-", 1L);
+			ThreadFactory factory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+			return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, factory);
+		} catch (ClassNotFoundException | NoSuchMethodException ex) {
+			throw new UnsupportedOperationException("Virtual threads are not supported by this jvm");
+		} catch (ReflectiveOperationException ex) {
+			throw new UnsupportedOperationException("Could not create virtual thread executor", ex);
+		}
+	}
+
+	@Override
+	public boolean execute(long guildId, @Nonnull Runnable task) {
+		if (!permits.tryAcquire()) return false;
+
+		try {
+			executor.execute(() -> {
+				try {
+					task.run();
+				} finally {
+					permits.release();
+				}
+			});
+			return true;
+		} catch (RejectedExecutionException ex) {
+			permits.release();
+			return false;
+		}
+	}
+
+	@Override
+	public void shutdown() {
+		executor.shutdown();
+	}
+
+	public int getActiveCount() {
+		return maxConcurrent - permits.availablePermits();
+	}
+
+	@Override
+	public String toString() {
+		return "VirtualThreadCommandExecutor[maxConcurrent=" + maxConcurrent + ", active=" + getActiveCount() + "]";
+	}
+
+}
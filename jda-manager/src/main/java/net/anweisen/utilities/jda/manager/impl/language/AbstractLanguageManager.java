@@ -11,52 +11,107 @@ import net.dv8tion.jda.api.entities.Guild;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.*;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
 
 /**
+ * The languages are kept in an immutable {@link Registry} which is replaced as a whole on every change,
+ * so looking up languages never locks and always sees a consistent state.
+ *
+ * The files, folders and resources languages were read from are remembered once each, so they can be {@link #reload() reloaded}.
+ * A reload reads all of them into new languages and only replaces the registry once everything was read successfully.
+ *
  * @author anweisen | https://github.com/anweisen
  * @since 1.0
  */
 public abstract class AbstractLanguageManager implements LanguageManager {
 
-	protected final Map<String, Language> languages = new HashMap<>();
-	protected Language defaultLanguage;
+	/**
+	 * An immutable snapshot of the languages, indexed by identifier and by lowercase identifier and names.
+	 */
+	public static final class Registry {
+
+		private static final Registry EMPTY = new Registry(Collections.emptyMap(), null);
+
+		private final Map<String, Language> languages;
+		private final Map<String, Language> names;
+		private final Language defaultLanguage;
+
+		private Registry(@Nonnull Map<String, Language> languages, @Nullable Language defaultLanguage) {
+			this.languages = Collections.unmodifiableMap(new LinkedHashMap<>(languages));
+			this.defaultLanguage = defaultLanguage;
+
+			// identifiers take precedence over names
+			Map<String, Language> names = new HashMap<>();
+			for (Language language : languages.values())
+				names.putIfAbsent(language.getIdentifier().toLowerCase(), language);
+			for (Language language : languages.values()) {
+				String[] languageNames = language.getNames();
+				if (languageNames == null) continue; // not read yet
+				for (String name : languageNames)
+					names.putIfAbsent(name.toLowerCase(), language);
+			}
+			this.names = Collections.unmodifiableMap(names);
+		}
+
+		@Nonnull
+		public Map<String, Language> getLanguages() {
+			return languages;
+		}
+
+		@Nullable
+		public Language getDefaultLanguage() {
+			return defaultLanguage;
+		}
+
+	}
+
+	/**
+	 * A file, folder or resource languages were read from.
+	 */
+	protected interface Source {
+
+		void read(@Nonnull Map<String, Language> target) throws IOException;
+
+	}
+
+	protected volatile Registry registry = Registry.EMPTY;
+	protected final Map<String, Source> sources = new LinkedHashMap<>();
+	protected final Map<String, Language> registered = new LinkedHashMap<>();
+	protected String defaultIdentifier;
 
 	@Nonnull
 	@Override
 	public Language getDefaultLanguage() {
+		Language defaultLanguage = registry.defaultLanguage;
 		if (defaultLanguage == null) throw new IllegalStateException("No default language set");
 		return defaultLanguage;
 	}
 
 	@Nonnull
 	@Override
-	public LanguageManager setDefaultLanguage(@Nonnull String identifier) {
+	public synchronized LanguageManager setDefaultLanguage(@Nonnull String identifier) {
 		Language language = getLanguageByIdentifier(identifier);
 		if (language == null) throw new IllegalArgumentException("No such language '" + identifier + "'");
-		defaultLanguage = language;
+		defaultIdentifier = identifier;
+		registry = new Registry(registry.languages, language);
 		return this;
 	}
 
 	@Nullable
 	@Override
 	public Language getLanguageByIdentifier(@Nonnull String identifier) {
-		return languages.get(identifier);
+		return registry.languages.get(identifier);
 	}
 
 	@Nullable
 	@Override
 	public Language getLanguageByName(@Nonnull String name) {
-		for (Language language : languages.values()) {
-			if (language.getIdentifier().equalsIgnoreCase(name))
-				return language;
-			for (String current : language.getNames()) {
-				if (current.equalsIgnoreCase(name))
-					return language;
-			}
-		}
-		return null;
+		return registry.names.get(name.toLowerCase());
+	}
+
+	@Nonnull
+	public Registry getRegistry() {
+		return registry;
 	}
 
 	@Nonnull
@@ -73,16 +128,18 @@ public abstract class AbstractLanguageManager implements LanguageManager {
 	@Nonnull
 	@Override
 	public LanguageManager readFolder(@Nonnull String folder) throws IOException {
-		return readFile(new File(folder));
+		return readFolder(new File(folder));
 	}
 
 	@Nonnull
 	@Override
 	public LanguageManager readFolder(@Nonnull File folder) throws IOException {
-		for (File file : folder.listFiles()) {
-			readFile(file);
-		}
-		return this;
+		return read("folder:" + folder.getAbsolutePath(), target -> {
+			File[] files = folder.listFiles();
+			if (files == null) throw new FileNotFoundException("No such folder \"" + folder + '"');
+			for (File file : files)
+				readFile(target, file);
+		});
 	}
 
 	@Nonnull
@@ -94,31 +151,77 @@ public abstract class AbstractLanguageManager implements LanguageManager {
 	@Nonnull
 	@Override
 	public LanguageManager readFile(@Nonnull File file) throws IOException {
-		Document document = Document.readJsonFile(file);
-		Language language = languages.computeIfAbsent(FileUtils.getFileName(file), LanguageImpl::new);
-		if (defaultLanguage == null) defaultLanguage = language;
-		language.read(document);
-		return this;
+		return read("file:" + file.getAbsolutePath(), target -> readFile(target, file));
 	}
 
 	@Nonnull
 	@Override
 	public LanguageManager readResource(@Nonnull String filename) throws IOException {
-		InputStream input = getClass().getClassLoader().getResourceAsStream(filename);
-		if (input == null) throw new FileNotFoundException("No such resource \"" + filename + '"');
-		Document document = Document.parseJson(new InputStreamReader(input));
-		Language language = languages.computeIfAbsent(FileUtils.getFileName(filename), LanguageImpl::new);
-		if (defaultLanguage == null) defaultLanguage = language;
+		return read("resource:" + filename, target -> {
+			InputStream input = getClass().getClassLoader().getResourceAsStream(filename);
+			if (input == null) throw new FileNotFoundException("No such resource \"" + filename + '"');
+			try (Reader reader = new InputStreamReader(input)) {
+				read(target, FileUtils.getFileName(filename), Document.parseJson(reader));
+			}
+		});
+	}
+
+	protected static void readFile(@Nonnull Map<String, Language> target, @Nonnull File file) throws IOException {
+		read(target, FileUtils.getFileName(file), Document.readJsonFile(file));
+	}
+
+	protected static void read(@Nonnull Map<String, Language> target, @Nonnull String identifier, @Nonnull Document document) {
+		Language language = target.computeIfAbsent(identifier, LanguageImpl::new);
 		language.read(document);
+	}
+
+	/**
+	 * Reads the source into the current languages and remembers it for {@link #reload()}.
+	 *
+	 * @param key identifies the file, folder or resource, a source which is read again is only remembered once
+	 */
+	@Nonnull
+	protected synchronized LanguageManager read(@Nonnull String key, @Nonnull Source source) throws IOException {
+		Map<String, Language> languages = new LinkedHashMap<>(registry.languages);
+		source.read(languages);
+		sources.putIfAbsent(key, source);
+		swap(languages);
 		return this;
 	}
 
 	@Nonnull
 	@Override
-	public LanguageManager register(@Nonnull Language language) {
+	public synchronized LanguageManager register(@Nonnull Language language) {
+		registered.put(language.getIdentifier(), language);
+		Map<String, Language> languages = new LinkedHashMap<>(registry.languages);
 		languages.put(language.getIdentifier(), language);
-		if (defaultLanguage == null) defaultLanguage = language;
+		swap(languages);
 		return this;
 	}
 
+	/**
+	 * Reads all remembered files, folders and resources into new languages and replaces the current languages at once.
+	 * Readers keep using the previous languages until the reload completed.
+	 * If any source could not be read, the current languages are kept.
+	 */
+	@Override
+	public synchronized void reload() throws IOException {
+		Map<String, Language> languages = new LinkedHashMap<>(registered);
+		for (Source source : sources.values())
+			source.read(languages);
+
+		swap(languages);
+		LOGGER.info("Reloaded {} languages", languages.size());
+	}
+
+	private void swap(@Nonnull Map<String, Language> languages) {
+		Language defaultLanguage = defaultIdentifier == null ? null : languages.get(defaultIdentifier);
+		if (defaultLanguage == null && !languages.isEmpty()) {
+			defaultLanguage = languages.values().iterator().next();
+			defaultIdentifier = defaultLanguage.getIdentifier();
+		}
+
+		registry = new Registry(languages, defaultLanguage);
+	}
+
 }
@@ -23,6 +23,7 @@ public class FallbackLanguage extends LanguageImpl {
 		getMessage("error-invalid-scope-guild").setValue("You can only use this command in a guild chat");
 		getMessage("error-missing-permission").setValue("You do not have enough permissions to execute that command");
 		getMessage("error-missing-team-role").setValue("You do not have enough permissions to execute that command");
+		getMessage("error-rejected").setValue("Too many commands are running right now, please try again later");
 		getMessage("error-invalid-number-positive").setValue("The given number must be positive");
 		getMessage("error-invalid-number-negative").setValue("The given number must be negative");
 		getMessage("error-invalid-number-range").setValue("The given number must be between **{0}** and **{1}**");
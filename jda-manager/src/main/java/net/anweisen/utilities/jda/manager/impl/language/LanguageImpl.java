@@ -5,18 +5,22 @@ import net.anweisen.utilities.jda.manager.language.Language;
 import net.anweisen.utilities.jda.manager.language.Message;
 
 import javax.annotation.Nonnull;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
+ * The messages are kept in an immutable map which is replaced as a whole when messages are read or added,
+ * so reading messages never locks or modifies anything and is safe while the language is being reloaded.
+ *
  * @author anweisen | https://github.com/anweisen
  * @since 1.0
  */
 public class LanguageImpl implements Language {
 
-	protected final Map<String, Message> messages = new HashMap<>();
+	protected volatile Map<String, Message> messages = Collections.emptyMap();
 	protected final String identifier;
-	protected String[] names;
+	protected volatile String[] names;
 
 	public LanguageImpl(@Nonnull String identifier) {
 		this.identifier = identifier;
@@ -25,7 +29,22 @@ public class LanguageImpl implements Language {
 	@Nonnull
 	@Override
 	public Message getMessage(@Nonnull String name) {
-		return messages.computeIfAbsent(name, MessageImpl::new);
+		Message message = messages.get(name);
+		if (message != null) return message;
+		return addMessage(name);
+	}
+
+	@Nonnull
+	protected synchronized Message addMessage(@Nonnull String name) {
+		Map<String, Message> current = messages;
+		Message message = current.get(name);
+		if (message != null) return message;
+
+		Map<String, Message> copy = new HashMap<>(current);
+		message = new MessageImpl(name);
+		copy.put(name, message);
+		messages = Collections.unmodifiableMap(copy);
+		return message;
 	}
 
 	@Nonnull
@@ -42,17 +61,27 @@ public class LanguageImpl implements Language {
 
 	@Override
 	public void read(@Nonnull Document document) {
-		names = document.getStringList("name").toArray(new String[0]);
+		String[] names = document.getStringList("name").toArray(new String[0]);
 		if (names.length == 0)
 			throw new IllegalArgumentException("Names of language ('" + identifier + "') cannot be empty");
 
+		// messages are compiled before they are visible, messages which are not in the document are kept
+		Map<String, Message> read = new HashMap<>();
 		for (String path : document.keys()) {
-			Message message = getMessage(path);
+			Message message = new MessageImpl(path);
 			if (document.isList(path)) {
 				message.setValue(document.getStringList(path).toArray(new String[0]));
 			} else {
 				message.setValue(document.getString(path));
 			}
+			read.put(path, message);
+		}
+
+		synchronized (this) {
+			Map<String, Message> copy = new HashMap<>(messages);
+			copy.putAll(read);
+			this.messages = Collections.unmodifiableMap(copy);
+			this.names = names;
 		}
 	}
 
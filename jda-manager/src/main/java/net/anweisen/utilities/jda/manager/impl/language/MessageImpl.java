@@ -1,6 +1,7 @@
 package net.anweisen.utilities.jda.manager.impl.language;
 
 import net.anweisen.utilities.common.collection.IRandom;
+import net.anweisen.utilities.common.misc.FormatTemplate;
 import net.anweisen.utilities.common.misc.StringUtils;
 import net.anweisen.utilities.jda.manager.language.Message;
 
@@ -9,6 +10,9 @@ import javax.annotation.Nullable;
 import java.util.Random;
 
 /**
+ * The value is compiled into {@link FormatTemplate templates} when it is set,
+ * so formatting the message does not have to parse it again.
+ *
  * @author anweisen | https://github.com/anweisen
  * @since 1.0
  */
@@ -16,6 +20,8 @@ public class MessageImpl implements Message {
 
 	private final String name;
 	private Object value;
+	private FormatTemplate template;
+	private FormatTemplate[] templates;
 
 	public MessageImpl(@Nonnull String name) {
 		this.name = name;
@@ -24,20 +30,16 @@ public class MessageImpl implements Message {
 	@Nonnull
 	@Override
 	public String asString(@Nonnull Object... args) {
-		if (value == null)                      return Message.unknown(name);
-		if (value instanceof String)            return StringUtils.format((String) value, args);
-		if (value instanceof String[])          return StringUtils.getArrayAsString(StringUtils.format((String[]) value, args), "\n");
-		LOGGER.error("Message '{}' has an illegal value {}", name, value.getClass().getName());
+		if (template != null)                   return template.format(args);
+		if (templates != null)                  return FormatTemplate.format(templates, "\n", args);
 		return Message.unknown(name);
 	}
 
 	@Nonnull
 	@Override
 	public String[] asArray(@Nonnull Object... args) {
-		if (value == null)                      return new String[] { Message.unknown(name)};
-		if (value instanceof String[])          return StringUtils.format((String[]) value, args);
-		if (value instanceof String)            return StringUtils.getStringAsArray(StringUtils.format((String) value, args));
-		LOGGER.error("Message '{}' has an illegal value {}", name, value.getClass().getName());
+		if (templates != null)                  return FormatTemplate.format(templates, args);
+		if (template != null)                   return StringUtils.getStringAsArray(template.format(args));
 		return new String[] { Message.unknown(name)};
 	}
 
@@ -62,11 +64,15 @@ public class MessageImpl implements Message {
 
 	@Override
 	public void setValue(@Nullable String value) {
+		this.template = value == null ? null : FormatTemplate.compile(value);
+		this.templates = null;
 		this.value = value;
 	}
 
 	@Override
 	public void setValue(@Nullable String[] value) {
+		this.templates = value == null ? null : FormatTemplate.compile(value);
+		this.template = null;
 		this.value = value;
 	}
 
@@ -1,5 +1,6 @@
 package net.anweisen.utilities.jda.manager.language;
 
+import net.anweisen.utilities.common.concurrent.task.Task;
 import net.anweisen.utilities.common.logging.ILogger;
 import net.anweisen.utilities.database.exceptions.DatabaseException;
 import net.anweisen.utilities.jda.manager.hooks.event.CommandEvent;
@@ -56,4 +57,17 @@ public interface LanguageManager {
 	@Nonnull
 	LanguageManager register(@Nonnull Language language);
 
+	/**
+	 * Reads all files, folders and resources languages were read from again and replaces the languages at once.
+	 * Languages can still be used while they are reloaded.
+	 * Does nothing by default, for managers which do not read their languages from files or resources.
+	 */
+	default void reload() throws IOException {
+	}
+
+	@Nonnull
+	default Task<Void> reloadAsync() {
+		return Task.asyncRunExceptionally(this::reload);
+	}
+
 }
@@ -5,16 +5,18 @@ import net.anweisen.utilities.jda.manager.process.CommandPreProcessInfo;
 import net.dv8tion.jda.api.events.interaction.SlashCommandEvent;
 import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
 import net.dv8tion.jda.api.events.message.MessageUpdateEvent;
-import net.dv8tion.jda.api.hooks.ListenerAdapter;
 import net.dv8tion.jda.api.hooks.SubscribeEvent;
 
 import javax.annotation.Nonnull;
 
 /**
+ * An annotated listener, so a {@link net.anweisen.utilities.jda.manager.listener.manager.CombinedEventManager} only calls it for the three events it handles.
+ * It has to be registered on an event manager which supports {@link SubscribeEvent} methods.
+ *
  * @author anweisen | https://github.com/anweisen
  * @since 1.0
  */
-public class CommandListener extends ListenerAdapter {
+public class CommandListener {
 
 	private final CommandManager manager;
 
@@ -22,21 +24,23 @@ public class CommandListener extends ListenerAdapter {
 		this.manager = manager;
 	}
 
-	@Override
 	@SubscribeEvent
 	public void onMessageUpdate(@Nonnull MessageUpdateEvent event) {
+		manager.getMetrics(event.getJDA().getShardInfo().getShardId()).recordMessage();
+		if (!manager.isPossibleCommand(event.isFromGuild() ? event.getMember() : null, event.getMessage())) return;
 		manager.handleCommand(new CommandPreProcessInfo(event));
 	}
 
-	@Override
 	@SubscribeEvent
 	public void onMessageReceived(@Nonnull MessageReceivedEvent event) {
+		manager.getMetrics(event.getJDA().getShardInfo().getShardId()).recordMessage();
+		if (!manager.isPossibleCommand(event.isFromGuild() ? event.getMember() : null, event.getMessage())) return;
 		manager.handleCommand(new CommandPreProcessInfo(event));
 	}
 
-	@Override
 	@SubscribeEvent
 	public void onSlashCommand(@Nonnull SlashCommandEvent event) {
+		manager.getMetrics(event.getJDA().getShardInfo().getShardId()).recordMessage();
 		event.deferReply().queue(); // Acknowledge event
 		manager.handleCommand(new CommandPreProcessInfo(event));
 	}
@@ -22,7 +22,11 @@ public class ActionEventListener<E extends GenericEvent> implements EventListene
 
 	@Override
 	public void onEvent(@Nonnull GenericEvent event) {
-		if (eventClass.isInstance(event)) return;
+		if (!eventClass.isInstance(event)) return;
 		action.accept(eventClass.cast(event));
 	}
+
+	public boolean isListening(@Nonnull Class<? extends GenericEvent> classOfEvent) {
+		return eventClass.isAssignableFrom(classOfEvent);
+	}
 }
@@ -1,5 +1,6 @@
 package net.anweisen.utilities.jda.manager.listener.manager;
 
+import net.anweisen.utilities.common.collection.WrappedException;
 import net.anweisen.utilities.common.misc.ReflectionUtils;
 import net.dv8tion.jda.api.events.GenericEvent;
 import net.dv8tion.jda.api.hooks.EventListener;
@@ -8,17 +9,31 @@ import net.dv8tion.jda.internal.JDAImpl;
 import net.dv8tion.jda.internal.utils.ClassWalker;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * Calls the methods annotated with {@link SubscribeEvent} of the holder.
+ *
+ * The methods are bound once when the listener is created, so no reflection is used when an event is fired.
+ * The listeners for a class of event are resolved when an event of this class is fired for the first time
+ * and are remembered in a dispatch table afterwards.
+ *
  * @author anweisen | https://github.com/anweisen
  * @since 1.0
  */
 public final class AnnotatedEventListener implements EventListener {
 
-	private final Map<Class<?>, List<Method>> listeners = new HashMap<>();
+	private static final EventListener[] EMPTY = new EventListener[0];
+
+	private final Map<Class<?>, List<EventListener>> listeners = new HashMap<>();
+	private final Map<Class<?>, EventListener[]> dispatchTable = new ConcurrentHashMap<>();
 	private final Object holder;
 
 	public AnnotatedEventListener(@Nonnull Object holder) {
@@ -33,30 +48,72 @@ public final class AnnotatedEventListener implements EventListener {
 			if (isClass && !Modifier.isStatic(method.getModifiers())) continue;
 			Class<?>[] parameters = method.getParameterTypes();
 			if (parameters.length == 1 && GenericEvent.class.isAssignableFrom(parameters[0])) {
-				List<Method> methods = listeners.computeIfAbsent(parameters[0], key -> new ArrayList<>(1));
-				methods.add(method);
+				EventListener listener = bind(method, Modifier.isStatic(method.getModifiers()) ? null : holder);
+				if (listener == null) continue;
+
+				List<EventListener> methods = listeners.computeIfAbsent(parameters[0], key -> new ArrayList<>(1));
+				methods.add(listener);
 			}
 		}
 	}
 
+	@Nullable
+	private static EventListener bind(@Nonnull Method method, @Nullable Object target) {
+		EventListener listener = ReflectionUtils.bindFunctional(EventListener.class, method, target);
+		if (listener != null) return listener;
+
+		MethodHandle handle;
+		try {
+			method.setAccessible(true);
+			handle = MethodHandles.lookup().unreflect(method);
+		} catch (IllegalAccessException | RuntimeException ex) {
+			JDAImpl.LOG.error("Couldn't access annotated EventListener method", ex);
+			return null;
+		}
+
+		if (target != null) handle = handle.bindTo(target);
+		MethodHandle invoker = handle.asType(MethodType.methodType(void.class, GenericEvent.class));
+		return event -> {
+			try {
+				invoker.invokeExact(event);
+			} catch (Throwable ex) {
+				throw WrappedException.rethrow(ex);
+			}
+		};
+	}
+
 	@Override
 	public void onEvent(@Nonnull GenericEvent event) {
-		for (Class<?> classOfEvent : ClassWalker.walk(event.getClass())) {
-			List<Method> methods = listeners.get(classOfEvent);
-			if (methods == null) continue;
-			methods.forEach(method -> {
-				try {
-					method.setAccessible(true);
-					method.invoke(holder instanceof Class ? null : holder, event);
-				} catch (IllegalAccessException ex) {
-					JDAImpl.LOG.error("Couldn't access annotated EventListener method", ex);
-				} catch (Throwable ex) {
-					JDAImpl.LOG.error("One of the EventListeners had an uncaught exception", ex);
-					if (ex instanceof Error)
-						throw (Error) ex;
-				}
-			});
+		for (EventListener target : getListeners(event.getClass())) {
+			try {
+				target.onEvent(event);
+			} catch (Throwable ex) {
+				JDAImpl.LOG.error("One of the EventListeners had an uncaught exception", ex);
+				if (ex instanceof Error)
+					throw (Error) ex;
+			}
+		}
+	}
+
+	/**
+	 * @return the bound methods which have to be called for an event of the given class, in the order they were declared
+	 */
+	@Nonnull
+	public EventListener[] getListeners(@Nonnull Class<? extends GenericEvent> classOfEvent) {
+		EventListener[] targets = dispatchTable.get(classOfEvent);
+		if (targets == null)
+			targets = dispatchTable.computeIfAbsent(classOfEvent, this::resolve);
+		return targets;
+	}
+
+	@Nonnull
+	private EventListener[] resolve(@Nonnull Class<?> classOfEvent) {
+		List<EventListener> targets = new ArrayList<>();
+		for (Class<?> current : ClassWalker.walk(classOfEvent)) {
+			List<EventListener> methods = listeners.get(current);
+			if (methods != null) targets.addAll(methods);
 		}
+		return targets.isEmpty() ? EMPTY : targets.toArray(EMPTY);
 	}
 
 	@Override
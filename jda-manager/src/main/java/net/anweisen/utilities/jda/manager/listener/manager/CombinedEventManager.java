@@ -9,6 +9,7 @@ import javax.annotation.Nonnull;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -33,11 +34,19 @@ import java.util.concurrent.CopyOnWriteArrayList;
  */
 public class CombinedEventManager implements IEventManager {
 
+	private static final EventListener[] EMPTY = new EventListener[0];
+
 	private final List<EventListener> listeners = new CopyOnWriteArrayList<>();
 	private final Set<Object> listenerHolders = ConcurrentHashMap.newKeySet();
 
+	/**
+	 * The listeners interested in a concrete class of event, in the order they were registered.
+	 * Replaced on every change, so a resolution running concurrently to a change cannot put outdated listeners into the new index.
+	 */
+	private volatile Map<Class<?>, EventListener[]> index = new ConcurrentHashMap<>();
+
 	@Override
-	public void register(@Nonnull Object listener) {
+	public synchronized void register(@Nonnull Object listener) {
 		listenerHolders.add(listener);
 
 		if (listener instanceof EventListener) {
@@ -45,10 +54,12 @@ public class CombinedEventManager implements IEventManager {
 		} else {
 			listeners.add(new AnnotatedEventListener(listener));
 		}
+
+		index = new ConcurrentHashMap<>();
 	}
 
 	@Override
-	public void unregister(@Nonnull Object listener) {
+	public synchronized void unregister(@Nonnull Object listener) {
 		listenerHolders.remove(listener);
 
 		if (listener instanceof EventListener) {
@@ -56,11 +67,18 @@ public class CombinedEventManager implements IEventManager {
 		} else {
 			listeners.remove(new AnnotatedEventListener(listener));
 		}
+
+		index = new ConcurrentHashMap<>();
 	}
 
 	@Override
 	public void handle(@Nonnull GenericEvent event) {
-		for (EventListener listener : listeners) {
+		Map<Class<?>, EventListener[]> index = this.index;
+		EventListener[] targets = index.get(event.getClass());
+		if (targets == null)
+			targets = index.computeIfAbsent(event.getClass(), this::resolve);
+
+		for (EventListener listener : targets) {
 			try {
 				listener.onEvent(event);
 			} catch (Throwable ex) {
@@ -71,6 +89,28 @@ public class CombinedEventManager implements IEventManager {
 		}
 	}
 
+	/**
+	 * Annotated listeners contribute their bound methods directly and action listeners only their event type.
+	 * Other listeners may handle any event, so they are always called.
+	 */
+	@Nonnull
+	@SuppressWarnings("unchecked")
+	private EventListener[] resolve(@Nonnull Class<?> eventClass) {
+		Class<? extends GenericEvent> classOfEvent = (Class<? extends GenericEvent>) eventClass;
+		List<EventListener> targets = new ArrayList<>();
+		for (EventListener listener : listeners) {
+			if (listener instanceof AnnotatedEventListener) {
+				Collections.addAll(targets, ((AnnotatedEventListener) listener).getListeners(classOfEvent));
+			} else if (listener instanceof ActionEventListener) {
+				if (((ActionEventListener<?>) listener).isListening(classOfEvent))
+					targets.add(listener);
+			} else {
+				targets.add(listener);
+			}
+		}
+		return targets.isEmpty() ? EMPTY : targets.toArray(EMPTY);
+	}
+
 	@Nonnull
 	@Override
 	public List<Object> getRegisteredListeners() {
@@ -0,0 +1,110 @@
+package net.anweisen.utilities.jda.manager.process;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the messages and command results of a single shard.
+ * The latency of a result is measured from the moment the command manager started handling the message until the result was known,
+ * so for executed commands it includes the execution of the command.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.6
+ */
+public final class CommandMetrics {
+
+	private static final CommandProcessResult[] RESULTS = CommandProcessResult.values();
+
+	private final int shardId;
+	private final LongAdder messages = new LongAdder();
+	private final LongAdder[] results = new LongAdder[RESULTS.length];
+	private final LatencyHistogram latency = new LatencyHistogram();
+
+	public CommandMetrics(int shardId) {
+		this.shardId = shardId;
+		for (int i = 0; i < results.length; i++)
+			results[i] = new LongAdder();
+	}
+
+	public void recordMessage() {
+		messages.increment();
+	}
+
+	public void recordResult(@Nonnull CommandProcessResult result, long nanos) {
+		results[result.ordinal()].increment();
+		latency.record(nanos);
+	}
+
+	public int getShardId() {
+		return shardId;
+	}
+
+	/**
+	 * @return the amount of messages received, including messages which were rejected before they were handled as a command
+	 */
+	@Nonnegative
+	public long getMessagesSeen() {
+		return messages.sum();
+	}
+
+	/**
+	 * @return the amount of commands which were executed, successfully or with an error
+	 */
+	@Nonnegative
+	public long getCommandsRun() {
+		return getResultCount(CommandProcessResult.SUCCESS) + getResultCount(CommandProcessResult.ERROR);
+	}
+
+	@Nonnegative
+	public long getResultCount(@Nonnull CommandProcessResult result) {
+		return results[result.ordinal()].sum();
+	}
+
+	/**
+	 * @return the amount of every result which occurred at least once
+	 */
+	@Nonnull
+	public Map<CommandProcessResult, Long> getResultCounts() {
+		Map<CommandProcessResult, Long> counts = new EnumMap<>(CommandProcessResult.class);
+		for (CommandProcessResult result : RESULTS) {
+			long count = getResultCount(result);
+			if (count > 0) counts.put(result, count);
+		}
+		return counts;
+	}
+
+	@Nonnull
+	public LatencyHistogram getLatency() {
+		return latency;
+	}
+
+	/**
+	 * @return the median latency in microseconds
+	 */
+	public long getLatencyP50() {
+		return latency.getPercentile(0.5);
+	}
+
+	/**
+	 * @return the 99th percentile of the latency in microseconds
+	 */
+	public long getLatencyP99() {
+		return latency.getPercentile(0.99);
+	}
+
+	@Override
+	public String toString() {
+		return "CommandMetrics{" +
+				"shard=" + shardId +
+				", messages=" + getMessagesSeen() +
+				", commands=" + getCommandsRun() +
+				", results=" + getResultCounts() +
+				", p50=" + getLatencyP50() + "us" +
+				", p99=" + getLatencyP99() + "us" +
+				'}';
+	}
+
+}
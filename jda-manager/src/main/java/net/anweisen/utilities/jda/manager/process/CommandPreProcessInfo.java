@@ -1,6 +1,7 @@
 package net.anweisen.utilities.jda.manager.process;
 
 import net.anweisen.utilities.jda.manager.PrefixProvider;
+import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.entities.Member;
 import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.api.entities.MessageChannel;
@@ -94,6 +95,15 @@ public final class CommandPreProcessInfo {
 		return message != null ? message.getChannel() : interaction.getChannel();
 	}
 
+	@Nonnull
+	public JDA getJDA() {
+		return message != null ? message.getJDA() : interaction.getJDA();
+	}
+
+	public int getShardId() {
+		return getJDA().getShardInfo().getShardId();
+	}
+
 	public boolean isFromGuild() {
 		return message != null ? message.isFromGuild() : interaction.isFromGuild();
 	}
@@ -19,6 +19,7 @@ public enum CommandProcessResult {
 	COOLDOWN(true),
 	MISSING_TEAM_ROLE(true),
 	MISSING_PERMISSION(true),
+	REJECTED,
 	ERROR(true),
 	SUCCESS;
 
@@ -14,4 +14,16 @@ public interface CommandResultHandler {
 
 	void handle(@Nonnull CommandManager manager, @Nonnull CommandEvent event, @Nonnull CommandResultInfo result);
 
+	/**
+	 * Results this handler ignores will not be passed to {@link #handle(CommandManager, CommandEvent, CommandResultInfo)},
+	 * so no event has to be created for them.
+	 * If a handler does not handle {@link CommandProcessResult#PREFIX_NOT_USED}, messages without a prefix can be dropped
+	 * before any objects are created for them.
+	 *
+	 * @return whether this handler wants to handle results of the given type
+	 */
+	default boolean isHandling(@Nonnull CommandProcessResult result) {
+		return true;
+	}
+
 }
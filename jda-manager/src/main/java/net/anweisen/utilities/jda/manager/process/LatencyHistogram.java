@@ -0,0 +1,91 @@
+package net.anweisen.utilities.jda.manager.process;
+
+import javax.annotation.Nonnegative;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Records latencies into logarithmic buckets, so percentiles can be estimated without storing every single value.
+ * Every power of two is split into {@value #SUB_BUCKETS} buckets, so an estimated percentile is at most 12.5% off.
+ * Recording is lock-free and does not allocate.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.6
+ */
+public final class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 3;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+	/**
+	 * @param nanos the latency in nanoseconds, values are recorded with a precision of microseconds
+	 */
+	public void record(long nanos) {
+		buckets.incrementAndGet(indexOf(Math.max(TimeUnit.NANOSECONDS.toMicros(nanos), 0)));
+	}
+
+	private static int indexOf(long micros) {
+		if (micros < SUB_BUCKETS) return (int) micros;
+		int exponent = 63 - Long.numberOfLeadingZeros(micros);
+		int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+	}
+
+	/**
+	 * @return the highest value in microseconds which falls into the bucket
+	 */
+	private static long upperBoundOf(int index) {
+		if (index < SUB_BUCKETS) return index;
+		int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+		int subBucket = index % SUB_BUCKETS;
+		long lower = (long) (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+		return lower + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+	}
+
+	/**
+	 * @param percentile the percentile between {@code 0} and {@code 1}, for example {@code 0.99}
+	 * @return the estimated latency in microseconds below which the given share of recorded latencies fall, {@code 0} if nothing was recorded
+	 */
+	@Nonnegative
+	public long getPercentile(double percentile) {
+		if (percentile < 0 || percentile > 1) throw new IllegalArgumentException("Percentile must be between 0 and 1");
+
+		long[] counts = new long[BUCKETS];
+		long total = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			counts[i] = buckets.get(i);
+			total += counts[i];
+		}
+		if (total == 0) return 0;
+
+		long target = Math.max((long) Math.ceil(total * percentile), 1);
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts[i];
+			if (seen >= target) return upperBoundOf(i);
+		}
+		return upperBoundOf(BUCKETS - 1);
+	}
+
+	@Nonnegative
+	public long getCount() {
+		long total = 0;
+		for (int i = 0; i < BUCKETS; i++)
+			total += buckets.get(i);
+		return total;
+	}
+
+	public void reset() {
+		for (int i = 0; i < BUCKETS; i++)
+			buckets.set(i, 0);
+	}
+
+	@Override
+	public String toString() {
+		return "LatencyHistogram[count=" + getCount() + ", p50=" + getPercentile(0.5) + "us, p99=" + getPercentile(0.99) + "us]";
+	}
+
+}